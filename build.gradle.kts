@@ -7,6 +7,7 @@ plugins {
     id("org.jetbrains.intellij") version "1.0"
     id("org.jetbrains.changelog") version "1.1.2"
     id("checkstyle")
+    id("me.champeau.jmh") version "0.6.5"
 }
 
 group = properties("pluginGroup")
@@ -23,6 +24,7 @@ dependencies {
     implementation("io.neow3j:contract:3.12.0") {
         exclude("org.slf4j")
     }
+    testImplementation("junit:junit:4.13.2")
 }
 
 // Configure gradle-intellij-plugin plugin.
@@ -49,6 +51,27 @@ checkstyle {
     toolVersion = "8.43"
 }
 
+// Configure jmh plugin, benchmarks are in src/jmh/java.
+// Read more: https://github.com/melix/jmh-gradle-plugin
+// Run with ./gradlew jmh, pass -PjmhIncludes=<regex> to run only some benchmarks.
+configurations {
+    // benchmarks run plugin code outside the ide, the platform classes are needed at runtime
+    named("jmhImplementation") {
+        extendsFrom(configurations["compileOnly"])
+    }
+}
+
+jmh {
+    jmhVersion.set("1.32")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    project.findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
+    // results are kept per plugin version so runs can be compared across versions
+    resultFormat.set("JSON")
+    resultsFile.set(project.file("build/reports/jmh/results-${properties("pluginVersion")}.json"))
+}
+
 tasks {
     withType<JavaCompile> {
         sourceCompatibility = "11"
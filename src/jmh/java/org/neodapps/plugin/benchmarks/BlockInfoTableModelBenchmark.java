@@ -0,0 +1,90 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.neodapps.plugin.services.chain.BlockSummary;
+import org.neodapps.plugin.ui.details.blocks.BlockInfoTableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the block table model under a high rate of new blocks.
+ * Batches are added to a full model, so each one also evicts the oldest blocks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockInfoTableModelBenchmark {
+  private static final int RETENTION = 1000;
+
+  @Param({"1", "100"})
+  public int batchSize;
+
+  private BlockInfoTableModel model;
+  private List<BlockSummary> batch;
+  private long nextIndex;
+
+  /**
+   * Fills the model up to its retention.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    // the project is only used to page in older blocks
+    model = new BlockInfoTableModel(null, RETENTION);
+    nextIndex = 0;
+    model.addBlocks(nextBatch(RETENTION));
+    batch = new ArrayList<>(batchSize);
+  }
+
+  @Benchmark
+  public void addBlocks() {
+    batch.clear();
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(newBlock());
+    }
+    model.addBlocks(batch);
+  }
+
+  /**
+   * Reads every row the way the table paints them.
+   */
+  @Benchmark
+  public void readRows(Blackhole blackhole) {
+    for (int row = 0; row < model.getRowCount(); row++) {
+      for (int column = 0; column < model.getColumnCount(); column++) {
+        blackhole.consume(model.getValueAt(row, column));
+      }
+    }
+  }
+
+  private List<BlockSummary> nextBatch(int size) {
+    var blocks = new ArrayList<BlockSummary>(size);
+    for (int i = 0; i < size; i++) {
+      blocks.add(newBlock());
+    }
+    return blocks;
+  }
+
+  private BlockSummary newBlock() {
+    var index = nextIndex++;
+    var hash = new byte[32];
+    hash[0] = (byte) index;
+    hash[1] = (byte) (index >> 8);
+    return new BlockSummary(index, 1_600_000_000_000L + index * 15_000, (int) (index % 5),
+        700 + (int) (index % 300), hash);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.blockchain.express.ExpressConfig;
+import org.neodapps.plugin.services.chain.AddressBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks reading a large neo-express config and the lookups built from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpressConfigBenchmark {
+  @Param({"10", "100", "1000"})
+  public int wallets;
+
+  private Path configFile;
+  private PrivateChain chain;
+
+  /**
+   * Writes the config file and reads it once for the lookups.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    configFile = Fixtures.writeExpressConfig(4, wallets, 3);
+    chain = new PrivateChain(configFile);
+    chain.getConfig();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(configFile);
+  }
+
+  /**
+   * Parses the config file, as done when a private net is loaded or its file changed.
+   */
+  @Benchmark
+  public ExpressConfig parseConfig() {
+    return new PrivateChain(configFile).getConfig();
+  }
+
+  /**
+   * Reads the config of a loaded chain, which only checks if the file changed.
+   */
+  @Benchmark
+  public ExpressConfig cachedConfig() {
+    return chain.getConfig();
+  }
+
+  /**
+   * Indexes the wallets of the config, as done once per config version by the address book.
+   */
+  @Benchmark
+  public AddressBook knownAddresses() {
+    var book = new AddressBook();
+    book.addConfig(chain.getConfig());
+    return book;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Supports creating the fixture files used by the benchmarks.
+ * Fixtures are generated from a fixed seed, so every run benchmarks the same data.
+ */
+final class Fixtures {
+  private static final long SEED = 42;
+
+  private Fixtures() {
+  }
+
+  /**
+   * Writes a neo-express config file.
+   *
+   * @param nodes    number of consensus nodes
+   * @param wallets  number of wallets
+   * @param accounts number of accounts per wallet
+   * @return path to the file
+   */
+  static Path writeExpressConfig(int nodes, int wallets, int accounts) throws IOException {
+    var random = new Random(SEED);
+    var json = new StringBuilder();
+    json.append("{\"magic\":1234567890,\"address-version\":53,\"consensus-nodes\":[");
+    for (int i = 0; i < nodes; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append(String.format("{\"tcp-port\":%d,\"ws-port\":%d,\"rpc-port\":%d,\"wallet\":",
+          20333 + i * 10, 20334 + i * 10, 20332 + i * 10));
+      appendWallet(json, random, "node" + (i + 1), accounts, true);
+      json.append('}');
+    }
+    json.append("],\"wallets\":[");
+    for (int i = 0; i < wallets; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      appendWallet(json, random, "wallet" + i, accounts, false);
+    }
+    json.append("],\"settings\":{}}");
+    return write("benchmark", ".neo-express", json.toString());
+  }
+
+  /**
+   * Writes an invoke file.
+   *
+   * @param items number of invoke items
+   * @return path to the file
+   */
+  static Path writeInvokeFile(int items) throws IOException {
+    var random = new Random(SEED);
+    var json = new StringBuilder("[");
+    for (int i = 0; i < items; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append(String.format("{\"contract\":\"0x%s\",\"operation\":\"transfer\",\"args\":["
+              + "\"@alice\",\"@bob\",%d,{\"type\":\"ByteArray\",\"value\":\"%s\"}]}",
+          randomHex(random, 20), random.nextInt(1_000_000), randomHex(random, 32)));
+    }
+    json.append(']');
+    return write("benchmark", ".neo-invoke.json", json.toString());
+  }
+
+  /**
+   * Creates an invocation script like the one of a multi-signature block witness.
+   *
+   * @param signatures number of signatures
+   * @return script bytes
+   */
+  static byte[] multiSignatureInvocation(int signatures) {
+    var random = new Random(SEED);
+    var script = new byte[signatures * 66];
+    for (int i = 0; i < signatures; i++) {
+      // PUSHDATA1 with a 64 byte signature
+      script[i * 66] = 0x0c;
+      script[i * 66 + 1] = 64;
+      var signature = new byte[64];
+      random.nextBytes(signature);
+      System.arraycopy(signature, 0, script, i * 66 + 2, 64);
+    }
+    return script;
+  }
+
+  private static void appendWallet(StringBuilder json, Random random, String name, int accounts,
+                                   boolean consensus) {
+    json.append(String.format("{\"name\":\"%s\",\"accounts\":[", name));
+    for (int i = 0; i < accounts; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      var label = consensus && i == accounts - 1 ? "\"Consensus MultiSigContract\"" : "null";
+      json.append(String.format("{\"private-key\":\"%s\",\"script-hash\":\"N%s\",\"label\":%s,"
+              + "\"is-default\":%s,"
+              + "\"contract\":{\"script\":\"%s\",\"parameters\":[\"Signature\"]}}",
+          randomPrivateKey(random), randomHex(random, 16), label, i == 0,
+          randomHex(random, 40)));
+    }
+    json.append("]}");
+  }
+
+  private static String randomPrivateKey(Random random) {
+    var key = new byte[32];
+    random.nextBytes(key);
+    // keep the key below the curve order
+    key[0] &= 0x7f;
+    key[31] |= 1;
+    return toHex(key);
+  }
+
+  private static String randomHex(Random random, int length) {
+    var bytes = new byte[length];
+    random.nextBytes(bytes);
+    return toHex(bytes);
+  }
+
+  private static String toHex(byte[] bytes) {
+    var hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  private static Path write(String prefix, String suffix, String content) throws IOException {
+    var path = Files.createTempFile(prefix, suffix);
+    path.toFile().deleteOnExit();
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    return path;
+  }
+}
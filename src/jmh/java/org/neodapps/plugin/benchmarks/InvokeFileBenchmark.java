@@ -0,0 +1,67 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.neodapps.plugin.services.chain.InvokeFile;
+import org.neodapps.plugin.services.chain.InvokeFileItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks reading the items of an invoke file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvokeFileBenchmark {
+  @Param({"10", "1000"})
+  public int items;
+
+  private Path invokeFile;
+  private InvokeFile loadedFile;
+
+  /**
+   * Writes the invoke file and reads it once for the cached reads.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    invokeFile = Fixtures.writeInvokeFile(items);
+    loadedFile = new InvokeFile(invokeFile);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(invokeFile);
+  }
+
+  /**
+   * Parses the invoke file, as done when it is opened.
+   */
+  @Benchmark
+  public Map<String, InvokeFileItem> parseItems() throws IOException {
+    return new InvokeFile(invokeFile).getItems();
+  }
+
+  /**
+   * Reads the items of an opened file, which only checks if the file changed.
+   */
+  @Benchmark
+  public Map<String, InvokeFileItem> cachedItems() throws IOException {
+    return loadedFile.getItems();
+  }
+}
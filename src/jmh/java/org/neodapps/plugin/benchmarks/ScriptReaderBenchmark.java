@@ -0,0 +1,41 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.benchmarks;
+
+import io.neow3j.script.ScriptReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the disassembly of witness scripts shown in the block and transaction popups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScriptReaderBenchmark {
+  // signatures of a single node and of a seven node consensus
+  @Param({"1", "7"})
+  public int signatures;
+
+  private byte[] script;
+
+  @Setup
+  public void setUp() {
+    script = Fixtures.multiSignatureInvocation(signatures);
+  }
+
+  @Benchmark
+  public String disassemble() {
+    return ScriptReader.convertToOpCodeString(script);
+  }
+}
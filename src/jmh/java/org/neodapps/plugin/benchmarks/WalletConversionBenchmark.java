@@ -0,0 +1,74 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.benchmarks;
+
+import io.neow3j.wallet.nep6.NEP6Wallet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.services.chain.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks getting the NEP-6 wallets of a neo-express config. The wallets are derived once
+ * per config version, so this measures the content hash check and the derivation separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WalletConversionBenchmark {
+  @Param({"1", "10"})
+  public int wallets;
+
+  private Path configFile;
+  private PrivateChain chain;
+  private WalletService walletService;
+
+  /**
+   * Writes and reads the config file, only the conversion is measured.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    configFile = Fixtures.writeExpressConfig(1, wallets, 2);
+    chain = new PrivateChain(configFile);
+    chain.getConfig();
+    // the project is only used to report errors
+    walletService = new WalletService(null);
+    walletService.getWallets(chain);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(configFile);
+  }
+
+  /**
+   * Gets the wallets of an unchanged config, from the cache.
+   */
+  @Benchmark
+  public List<NEP6Wallet> cachedWallets() {
+    return walletService.getWallets(chain);
+  }
+
+  /**
+   * Derives the wallets, as done when the config changed.
+   */
+  @Benchmark
+  public List<NEP6Wallet> convertWallets() {
+    return new WalletService(null).getWallets(chain);
+  }
+}
@@ -9,20 +9,39 @@ import com.intellij.notification.NotificationGroup;
 import com.intellij.notification.NotificationGroupManager;
 import com.intellij.notification.NotificationType;
 import com.intellij.openapi.project.Project;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Supports sending notification.
  */
 public class NeoNotifier {
+  private static final long REPEAT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  // when each error was last shown, keyed by project and content
+  private static final Map<String, Long> shownErrors = new ConcurrentHashMap<>();
 
   /**
    * Supports sending error notifications.
+   * An error that was shown within the last 30 seconds is not shown again, so a node that is
+   * down does not raise the same error for every call.
    *
    * @param project intellij project
    * @param content notification content
    */
   public static void notifyError(@Nullable Project project, String content) {
+    var now = System.currentTimeMillis();
+    var key = (project == null ? "" : project.getLocationHash()) + "#" + content;
+    var shown = shownErrors.get(key);
+    if (shown != null && now - shown < REPEAT_MILLIS) {
+      return;
+    }
+    shownErrors.put(key, now);
+    // forget errors that can be shown again
+    shownErrors.values().removeIf(time -> now - time >= REPEAT_MILLIS);
+
     NotificationGroupManager.getInstance().getNotificationGroup("org.neodapps.plugin")
         .createNotification(content, NotificationType.ERROR)
         .notify(project);
@@ -41,7 +41,20 @@ public class NeoSettingsConfigurable implements Configurable {
   public boolean isModified() {
     var settings = SettingsState.getInstance();
     return !settingsComponent.getDotNetRootPath().equals(settings.dotNetRoot)
-        || !settingsComponent.getNeoExpressExecutablePath().equals(settings.neoExpressLocation);
+        || !settingsComponent.getNeoExpressExecutablePath().equals(settings.neoExpressLocation)
+        || settingsComponent.getBlockRetention() != settings.blockRetention
+        || settingsComponent.getBlockUpdateInterval() != settings.blockUpdateInterval
+        || settingsComponent.getBlockUpdateBatchSize() != settings.blockUpdateBatchSize
+        || settingsComponent.getBlockBackfillDepth() != settings.blockBackfillDepth
+        || settingsComponent.getBlockBackfillConcurrency() != settings.blockBackfillConcurrency
+        || settingsComponent.isBlockHeadersOnly() != settings.blockHeadersOnly
+        || settingsComponent.getNodeHealthInterval() != settings.nodeHealthInterval
+        || settingsComponent.isAutoSelectSeed() != settings.autoSelectSeed
+        || settingsComponent.isHedgeRequests() != settings.hedgeRequests
+        || settingsComponent.getRpcTimeout() != settings.rpcTimeout
+        || settingsComponent.getRpcRetries() != settings.rpcRetries
+        || settingsComponent.getRpcCircuitFailures() != settings.rpcCircuitFailures
+        || settingsComponent.getRpcCircuitOpenTime() != settings.rpcCircuitOpenTime;
   }
 
   @Override
@@ -49,6 +62,19 @@ public class NeoSettingsConfigurable implements Configurable {
     var settings = SettingsState.getInstance();
     settings.dotNetRoot = settingsComponent.getDotNetRootPath();
     settings.neoExpressLocation = settingsComponent.getNeoExpressExecutablePath();
+    settings.blockRetention = settingsComponent.getBlockRetention();
+    settings.blockUpdateInterval = settingsComponent.getBlockUpdateInterval();
+    settings.blockUpdateBatchSize = settingsComponent.getBlockUpdateBatchSize();
+    settings.blockBackfillDepth = settingsComponent.getBlockBackfillDepth();
+    settings.blockBackfillConcurrency = settingsComponent.getBlockBackfillConcurrency();
+    settings.blockHeadersOnly = settingsComponent.isBlockHeadersOnly();
+    settings.nodeHealthInterval = settingsComponent.getNodeHealthInterval();
+    settings.autoSelectSeed = settingsComponent.isAutoSelectSeed();
+    settings.hedgeRequests = settingsComponent.isHedgeRequests();
+    settings.rpcTimeout = settingsComponent.getRpcTimeout();
+    settings.rpcRetries = settingsComponent.getRpcRetries();
+    settings.rpcCircuitFailures = settingsComponent.getRpcCircuitFailures();
+    settings.rpcCircuitOpenTime = settingsComponent.getRpcCircuitOpenTime();
   }
 
   @Override
@@ -56,6 +82,19 @@ public class NeoSettingsConfigurable implements Configurable {
     var settings = SettingsState.getInstance();
     settingsComponent.setDotNetRootPath(settings.dotNetRoot);
     settingsComponent.setNeoExpressExecutablePath(settings.neoExpressLocation);
+    settingsComponent.setBlockRetention(settings.blockRetention);
+    settingsComponent.setBlockUpdateInterval(settings.blockUpdateInterval);
+    settingsComponent.setBlockUpdateBatchSize(settings.blockUpdateBatchSize);
+    settingsComponent.setBlockBackfillDepth(settings.blockBackfillDepth);
+    settingsComponent.setBlockBackfillConcurrency(settings.blockBackfillConcurrency);
+    settingsComponent.setBlockHeadersOnly(settings.blockHeadersOnly);
+    settingsComponent.setNodeHealthInterval(settings.nodeHealthInterval);
+    settingsComponent.setAutoSelectSeed(settings.autoSelectSeed);
+    settingsComponent.setHedgeRequests(settings.hedgeRequests);
+    settingsComponent.setRpcTimeout(settings.rpcTimeout);
+    settingsComponent.setRpcRetries(settings.rpcRetries);
+    settingsComponent.setRpcCircuitFailures(settings.rpcCircuitFailures);
+    settingsComponent.setRpcCircuitOpenTime(settings.rpcCircuitOpenTime);
   }
 
   @Override
@@ -23,6 +23,8 @@ public class NeoToolWindowFactory implements ToolWindowFactory {
     ToolWindowController neoToolWindow = new ToolWindowController(project);
     ContentFactory contentFactory = ContentFactory.SERVICE.getInstance();
     Content content = contentFactory.createContent(neoToolWindow.getContent(), "", false);
+    // disposes the components of the tool window with its content
+    content.setDisposer(neoToolWindow);
     toolWindow.getContentManager().addContent(content);
   }
 
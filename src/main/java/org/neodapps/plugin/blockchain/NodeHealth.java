@@ -0,0 +1,51 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.blockchain;
+
+/**
+ * Represents the result of probing a node: its running state, rpc latency and block height.
+ */
+public class NodeHealth {
+  // latency and height of a node that did not answer
+  public static final long UNKNOWN = -1;
+
+  private final NodeRunningState state;
+  private final long latency;
+  private final long height;
+
+  /**
+   * Creates the health of a node.
+   *
+   * @param state   running state of the node
+   * @param latency round trip time of the probe in milliseconds
+   * @param height  block count of the node
+   */
+  public NodeHealth(NodeRunningState state, long latency, long height) {
+    this.state = state;
+    this.latency = latency;
+    this.height = height;
+  }
+
+  public static NodeHealth notRunning() {
+    return new NodeHealth(NodeRunningState.NOT_RUNNING, UNKNOWN, UNKNOWN);
+  }
+
+  public NodeRunningState getState() {
+    return state;
+  }
+
+  public long getLatency() {
+    return latency;
+  }
+
+  public long getHeight() {
+    return height;
+  }
+
+  public boolean isRunning() {
+    return state.equals(NodeRunningState.RUNNING);
+  }
+}
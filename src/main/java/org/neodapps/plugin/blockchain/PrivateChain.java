@@ -66,6 +66,10 @@ public class PrivateChain implements ChainLike {
     return config;
   }
 
+  public Path getConfigFileLocation() {
+    return configFileLocation;
+  }
+
   @Override
   public String toString() {
     return configFileLocation.getFileName().toString();
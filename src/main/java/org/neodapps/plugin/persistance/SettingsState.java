@@ -26,6 +26,41 @@ public class SettingsState implements PersistentStateComponent<SettingsState> {
   public String neoExpressLocation = "";
   public String dotNetRoot = "";
 
+  // number of blocks kept in the block table
+  public int blockRetention = 1000;
+
+  // incoming blocks are applied to the block table in batches
+  public int blockUpdateInterval = 250;
+  public int blockUpdateBatchSize = 100;
+
+  // number of older blocks loaded when the block table opens
+  public int blockBackfillDepth = 10;
+  public int blockBackfillConcurrency = 8;
+
+  // public chains load block headers, full blocks are fetched when opened
+  public boolean blockHeadersOnly = true;
+
+  // nodes of the applied chain are probed on this interval in seconds
+  public int nodeHealthInterval = 10;
+
+  // public chain calls go to the fastest seed, unless the user picked one
+  public boolean autoSelectSeed = false;
+
+  // slow public chain reads are also sent to a second seed
+  public boolean hedgeRequests = false;
+
+  // time an rpc call waits for the node, per attempt
+  public int rpcTimeout = 10000;
+
+  // times a failed read is sent again
+  public int rpcRetries = 2;
+
+  // failed calls in a row that open the circuit breaker of a node
+  public int rpcCircuitFailures = 5;
+
+  // seconds calls to a failing node fail at once
+  public int rpcCircuitOpenTime = 30;
+
   public static SettingsState getInstance() {
     return ApplicationManager.getApplication().getService(SettingsState.class);
   }
@@ -0,0 +1,82 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.persistance;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Supports storing the metadata of NEP-17 tokens across sessions.
+ * The metadata is a cache, so it is kept in the cache file of the project instead of the
+ * project files.
+ */
+@State(
+    name = "org.neodapps.plugin.persistance.TokenMetadataState",
+    storages = {@Storage(StoragePathMacros.CACHE_FILE)}
+)
+public class TokenMetadataState implements PersistentStateComponent<TokenMetadataState> {
+  // token metadata keyed by network magic and contract hash,
+  // written from pooled threads while the state may be saved
+  public Map<String, TokenMetadata> tokens = new ConcurrentHashMap<>();
+
+  public static TokenMetadataState getInstance(Project project) {
+    return project.getService(TokenMetadataState.class);
+  }
+
+  @Nullable
+  @Override
+  public TokenMetadataState getState() {
+    return this;
+  }
+
+  @Override
+  public void loadState(@NotNull TokenMetadataState state) {
+    XmlSerializerUtil.copyBean(state, this);
+    // the loaded map is not a concurrent one
+    tokens = new ConcurrentHashMap<>(tokens);
+  }
+
+  /**
+   * Represents the stored metadata of a token.
+   */
+  public static class TokenMetadata {
+    // update counter not known
+    public static final int UNKNOWN = -1;
+
+    // update counter of the contract the metadata was read from
+    public int updateCounter;
+    public String symbol;
+    public int decimals;
+    // changes with every mint or burn, only refreshed on demand
+    public String totalSupply;
+
+    public TokenMetadata() {
+    }
+
+    /**
+     * Creates the metadata of a token.
+     *
+     * @param updateCounter update counter of the contract
+     * @param symbol        token symbol
+     * @param decimals      token decimals
+     * @param totalSupply   token total supply when read
+     */
+    public TokenMetadata(int updateCounter, String symbol, int decimals, String totalSupply) {
+      this.updateCounter = updateCounter;
+      this.symbol = symbol;
+      this.decimals = decimals;
+      this.totalSupply = totalSupply;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.Numeric;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.neodapps.plugin.blockchain.ConsensusNodeLike;
+import org.neodapps.plugin.blockchain.express.ExpressConfig;
+import org.neodapps.plugin.blockchain.express.ExpressConsensusNode;
+import org.neodapps.plugin.blockchain.express.ExpressWallet;
+import org.neodapps.plugin.blockchain.express.ExpressWalletAccount;
+
+/**
+ * Represents the labels of the known addresses of a chain.
+ * Lookups do not lock, so the cell renderers of the views can read labels while they are added,
+ * see {@link AddressBookService} for the shared books of a project.
+ */
+public class AddressBook {
+  private static final String CONSENSUS_ACCOUNT_LABEL = "Consensus MultiSigContract";
+
+  private final Map<String, String> labels;
+  // config the wallets were last indexed from
+  private ExpressConfig config;
+  // labels added from that config, by address
+  private Map<String, String> configLabels;
+
+  public AddressBook() {
+    this.labels = new ConcurrentHashMap<>();
+    this.configLabels = Map.of();
+  }
+
+  /**
+   * Indexes the wallets of a neo-express config, unless it was indexed already.
+   * Labels added before are kept, a wallet of a newer config replaces their label. Labels of
+   * wallets no longer in the config are dropped.
+   *
+   * @param expressConfig config of the private net
+   */
+  public synchronized void addConfig(ExpressConfig expressConfig) {
+    if (expressConfig == null || expressConfig == config) {
+      return;
+    }
+    config = expressConfig;
+    Map<String, String> added = new HashMap<>();
+    for (ConsensusNodeLike node : expressConfig.getConsensusNodes()) {
+      for (ExpressWalletAccount account : ((ExpressConsensusNode) node).getWallet()
+          .getAccounts()) {
+        if (CONSENSUS_ACCOUNT_LABEL.equals(account.getLabel())) {
+          added.put(toAddress(account.getScriptHash()), WalletService.GENESIS);
+        }
+      }
+    }
+    for (ExpressWallet wallet : expressConfig.getWallets()) {
+      for (ExpressWalletAccount account : wallet.getAccounts()) {
+        added.put(toAddress(account.getScriptHash()), wallet.getName());
+      }
+    }
+    // unless labeled again since, like by an imported wallet
+    configLabels.forEach((address, label) -> {
+      if (!added.containsKey(address)) {
+        labels.remove(address, label);
+      }
+    });
+    added.forEach(this::put);
+    configLabels = added;
+  }
+
+  /**
+   * Labels an address.
+   *
+   * @param address address or script hash
+   * @param label   wallet or contract name
+   */
+  public synchronized void put(String address, String label) {
+    labels.put(toAddress(address), label);
+  }
+
+  /**
+   * Gets the label of an address.
+   *
+   * @param address address or script hash
+   * @return label, null if the address is not known
+   */
+  public String get(String address) {
+    return address == null ? null : labels.get(toAddress(address));
+  }
+
+  private String toAddress(String address) {
+    var hex = Numeric.cleanHexPrefix(address);
+    if (hex.length() == Hash160.LENGTH * 2 && hex.matches("[0-9a-fA-F]+")) {
+      return new Hash160(hex).toAddress();
+    }
+    return address;
+  }
+}
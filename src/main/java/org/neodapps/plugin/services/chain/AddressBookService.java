@@ -0,0 +1,151 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import io.neow3j.protocol.core.response.ExpressContractState;
+import io.neow3j.types.Hash160;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.blockchain.BlockChainType;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.blockchain.PrivateChain;
+
+/**
+ * Keeps the {@link AddressBook} of each chain, shared by the block and transaction views.
+ * Addresses are labeled with the name of their wallet, genesis for the consensus account, or the
+ * name of their contract. Lookups run from cell renderers, so they neither lock nor read files:
+ * the wallets of a neo-express config are indexed on a pooled thread once per version of the
+ * config, and the config file is checked at most every few seconds. Native contracts are read
+ * once per chain, and again after a delay if the node could not be reached. Imported wallets and
+ * deployed contracts are added as they come.
+ */
+public class AddressBookService {
+  private static final long CONFIG_CHECK_MILLIS = TimeUnit.SECONDS.toMillis(2);
+  private static final long NATIVES_RETRY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final Project project;
+  // address books by chain
+  private final Map<String, ChainBook> books;
+
+  public AddressBookService(@NotNull Project project) {
+    this.project = project;
+    this.books = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Gets the label of an address.
+   *
+   * @param chain   chain of the address
+   * @param address address or script hash
+   * @return label, null if the address is not known
+   */
+  public String getLabel(ChainLike chain, String address) {
+    return getBook(chain).get(address);
+  }
+
+  /**
+   * Gets the text an address is shown with.
+   *
+   * @param chain   chain of the address
+   * @param address address or script hash
+   * @return label of the address, the address itself if it is not known
+   */
+  public String getDisplayName(ChainLike chain, String address) {
+    var label = getLabel(chain, address);
+    return label == null ? address : label;
+  }
+
+  /**
+   * Adds the accounts of a wallet.
+   *
+   * @param chain     chain of the wallet
+   * @param name      wallet name
+   * @param addresses addresses of the accounts
+   */
+  public void addWallet(ChainLike chain, String name, List<String> addresses) {
+    var book = getBook(chain);
+    addresses.forEach(address -> book.put(address, name));
+  }
+
+  /**
+   * Adds a contract.
+   *
+   * @param chain chain of the contract
+   * @param hash  contract hash
+   * @param name  contract name
+   */
+  public void addContract(ChainLike chain, Hash160 hash, String name) {
+    getBook(chain).put(hash.toAddress(), name);
+  }
+
+  /**
+   * Adds contracts, like the deployed contracts listed by neo-express.
+   *
+   * @param chain     chain of the contracts
+   * @param contracts contract states
+   */
+  public void addContracts(ChainLike chain, List<? extends ExpressContractState> contracts) {
+    var book = getBook(chain);
+    for (ExpressContractState contract : contracts) {
+      book.put(contract.getHash().toAddress(), contract.getManifest().getName());
+    }
+  }
+
+  private AddressBook getBook(ChainLike chain) {
+    var chainBook = books.computeIfAbsent(getKey(chain), key -> new ChainBook());
+    var now = System.currentTimeMillis();
+    if (claim(chainBook.nativesLoadAt, now, Long.MAX_VALUE)) {
+      // not requested again unless the request fails
+      loadNativeContracts(chain, chainBook);
+    }
+    if (chain.getType().equals(BlockChainType.PRIVATE)
+        && claim(chainBook.configCheckAt, now, now + CONFIG_CHECK_MILLIS)) {
+      // the config is read again when the file changes, like when a wallet is created
+      ApplicationManager.getApplication().executeOnPooledThread(
+          () -> chainBook.book.addConfig(((PrivateChain) chain).getConfig()));
+    }
+    return chainBook.book;
+  }
+
+  private void loadNativeContracts(ChainLike chain, ChainBook chainBook) {
+    ApplicationManager.getApplication().executeOnPooledThread(() -> {
+      var natives = project.getService(ContractServices.class).getNativeContracts(chain);
+      if (natives == null || natives.isEmpty()) {
+        // node not reachable, read them with a lookup after the delay
+        chainBook.nativesLoadAt.set(System.currentTimeMillis() + NATIVES_RETRY_MILLIS);
+        return;
+      }
+      addContracts(chain, natives);
+    });
+  }
+
+  // true for the single caller that moves a due time to the next one
+  private static boolean claim(AtomicLong dueAt, long now, long next) {
+    var at = dueAt.get();
+    return at <= now && dueAt.compareAndSet(at, next);
+  }
+
+  private String getKey(ChainLike chain) {
+    if (chain.getType().equals(BlockChainType.PRIVATE)) {
+      return String.format("%s:%s", chain.getType(),
+          ((PrivateChain) chain).getConfigFileLocation().toAbsolutePath());
+    }
+    return chain.getType().toString();
+  }
+
+  // the book of a chain with when its sources are read again
+  private static class ChainBook {
+    private final AddressBook book = new AddressBook();
+    private final AtomicLong nativesLoadAt = new AtomicLong();
+    private final AtomicLong configCheckAt = new AtomicLong();
+  }
+}
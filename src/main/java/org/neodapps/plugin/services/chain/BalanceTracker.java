@@ -0,0 +1,225 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.NeoApplicationLog;
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.protocol.core.response.Notification;
+import io.neow3j.protocol.core.response.Transaction;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.Hash256;
+import io.neow3j.types.StackItemType;
+import io.neow3j.utils.ArrayUtils;
+import io.neow3j.wallet.nep6.NEP6Account;
+import io.neow3j.wallet.nep6.NEP6Wallet;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.neodapps.plugin.NeoNotifier;
+import org.neodapps.plugin.blockchain.ChainLike;
+
+/**
+ * Keeps the token balances of wallets up to date from the new blocks of a chain.
+ * The application logs of each block are read for NEP-17 Transfer notifications, and only the
+ * balances of the tokens a wallet sent or received are read again. The cost of a block grows
+ * with its transfers, not with the number of wallets and tokens.
+ */
+public class BalanceTracker {
+  private static final String TRANSFER_EVENT = "Transfer";
+
+  private final Project project;
+  private final ChainLike chain;
+  private final Map<Hash160, NEP6Wallet> walletsByAccount;
+  // balances of each wallet by token, only changed on the feed thread
+  private final Map<NEP6Wallet, Map<Hash160, TokenBalance>> balances;
+  private Disposable subscription;
+
+  /**
+   * Creates a tracker of the balances of wallets.
+   *
+   * @param project  intellij project
+   * @param chain    chain of the wallets
+   * @param balances balances of the wallets when tracking starts
+   */
+  public BalanceTracker(Project project, ChainLike chain,
+                        Map<NEP6Wallet, List<TokenBalance>> balances) {
+    this.project = project;
+    this.chain = chain;
+    this.walletsByAccount = new HashMap<>();
+    this.balances = new HashMap<>();
+    balances.forEach((wallet, tokenBalances) -> {
+      for (NEP6Account account : wallet.getAccounts()) {
+        walletsByAccount.put(Hash160.fromAddress(account.getAddress()), wallet);
+      }
+      var byToken = new LinkedHashMap<Hash160, TokenBalance>();
+      tokenBalances.forEach(balance -> byToken.put(balance.getHash(), balance));
+      this.balances.put(wallet, byToken);
+    });
+  }
+
+  /**
+   * Starts following the blocks of the chain.
+   * Nothing is followed without any account, the blocks and logs would be read for nothing.
+   *
+   * @param listener called in the event dispatch thread with the new balances of a wallet
+   */
+  public void start(BiConsumer<NEP6Wallet, List<TokenBalance>> listener) {
+    stop();
+    if (walletsByAccount.isEmpty()) {
+      return;
+    }
+    subscription = project.getService(BlockFeedService.class).getBlockFeed(chain)
+        // application logs are read off the feed, blocks are still handled in order
+        .observeOn(Schedulers.io())
+        .subscribe(block -> update(block.getBlock(), listener),
+            error -> NeoNotifier.notifyError(project, error.getMessage()));
+  }
+
+  /**
+   * Stops following the blocks.
+   */
+  public void stop() {
+    if (subscription != null && !subscription.isDisposed()) {
+      subscription.dispose();
+    }
+    subscription = null;
+  }
+
+  private void update(NeoBlock block, BiConsumer<NEP6Wallet, List<TokenBalance>> listener) {
+    var neow3j = project.getService(UtilService.class).getNeow3jInstance(chain);
+    if (neow3j == null || block == null) {
+      return;
+    }
+    if (block.getTransactions() == null) {
+      // header feed, the transactions are needed
+      block = project.getService(BlockchainService.class).getBlock(chain, block.getIndex());
+      if (block == null) {
+        // notified
+        return;
+      }
+    }
+
+    try {
+      var changed = getChangedTokens(block, neow3j);
+      if (changed.isEmpty()) {
+        return;
+      }
+      var updated = readBalances(changed, neow3j);
+      updated.forEach((wallet, tokenBalances) -> ApplicationManager.getApplication()
+          .invokeLater(() -> listener.accept(wallet, tokenBalances)));
+    } catch (IOException e) {
+      NeoNotifier.notifyError(project, e.getMessage());
+    }
+  }
+
+  private Map<NEP6Wallet, Set<Hash160>> getChangedTokens(NeoBlock block, Neow3j neow3j)
+      throws IOException {
+    // the block log has the transfers of fees and rewards, the others those of transactions
+    var hashes = new ArrayList<Hash256>();
+    hashes.add(block.getHash());
+    for (Transaction transaction : block.getTransactions()) {
+      hashes.add(transaction.getHash());
+    }
+
+    var changed = new HashMap<NEP6Wallet, Set<Hash160>>();
+    for (Hash256 hash : hashes) {
+      var response = neow3j.getApplicationLog(hash).send();
+      if (response.hasError()) {
+        // no log, like a block without executions
+        continue;
+      }
+      for (NeoApplicationLog.Execution execution : response.getApplicationLog().getExecutions()) {
+        for (Notification notification : execution.getNotifications()) {
+          if (!TRANSFER_EVENT.equals(notification.getEventName())
+              || notification.getState().getList().size() != 3) {
+            continue;
+          }
+          var state = notification.getState().getList();
+          for (StackItem party : List.of(state.get(0), state.get(1))) {
+            var wallet = walletsByAccount.get(toHash160(party));
+            if (wallet != null) {
+              changed.computeIfAbsent(wallet, w -> new HashSet<>())
+                  .add(notification.getContract());
+            }
+          }
+        }
+      }
+    }
+    return changed;
+  }
+
+  private Map<NEP6Wallet, List<TokenBalance>> readBalances(
+      Map<NEP6Wallet, Set<Hash160>> changed, Neow3j neow3j) throws IOException {
+    var tokens = new ArrayList<Hash160>();
+    var accounts = new ArrayList<Hash160>();
+    changed.forEach((wallet, walletTokens) -> {
+      walletTokens.stream().filter(token -> !tokens.contains(token)).forEach(tokens::add);
+      for (NEP6Account account : wallet.getAccounts()) {
+        accounts.add(Hash160.fromAddress(account.getAddress()));
+      }
+    });
+    var metadataService = project.getService(TokenMetadataService.class);
+    var metadataTokens = new HashSet<Hash160>();
+    for (Hash160 token : tokens) {
+      if (metadataService.getCachedMetadata(chain, token) == null) {
+        // received a token not seen before
+        metadataTokens.add(token);
+      }
+    }
+
+    var result = new BatchBalanceQuery(neow3j, tokens, accounts, metadataTokens, Set.of()).run();
+    metadataService.update(chain, result.getMetadata(), Map.of(), Map.of());
+
+    var updated = new HashMap<NEP6Wallet, List<TokenBalance>>();
+    changed.forEach((wallet, walletTokens) -> {
+      var byToken = balances.get(wallet);
+      for (Hash160 token : walletTokens) {
+        // a wallet holds the sum of its accounts
+        var balance = BigInteger.ZERO;
+        for (NEP6Account account : wallet.getAccounts()) {
+          balance = balance.add(
+              result.getBalance(token, Hash160.fromAddress(account.getAddress())));
+        }
+        if (balance.signum() == 0) {
+          byToken.remove(token);
+          continue;
+        }
+        var metadata = metadataService.getCachedMetadata(chain, token);
+        if (metadata == null) {
+          // cache cleared meanwhile, shown with the next load
+          continue;
+        }
+        byToken.put(token, new TokenBalance(token, TokenMetadataService.getTotalSupply(metadata),
+            metadata.decimals, metadata.symbol, balance));
+      }
+      updated.put(wallet, new ArrayList<>(byToken.values()));
+    });
+    return updated;
+  }
+
+  private Hash160 toHash160(StackItem item) {
+    // mints and burns have no sender or receiver
+    if (item.getType() != StackItemType.BYTE_STRING
+        || item.getByteArray().length != Hash160.LENGTH) {
+      return null;
+    }
+    // script hashes are little endian on the stack
+    return new Hash160(ArrayUtils.reverseArray(item.getByteArray()));
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.script.ScriptBuilder;
+import io.neow3j.types.CallFlags;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.Numeric;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.neodapps.plugin.persistance.TokenMetadataState.TokenMetadata;
+
+/**
+ * Reads the NEP-17 balances of many accounts in many tokens with one invokescript.
+ * The script calls balanceOf for every token and account, symbol, decimals and totalSupply
+ * for the tokens whose metadata is needed, and totalSupply alone for the tokens whose supply is
+ * needed. The results are read back from the result stack in the order the calls were made.
+ * Large queries are split in several scripts, between any two (token, account) pairs.
+ */
+public class BatchBalanceQuery {
+  // calls per script, keeps a script well below the gas limit of invokescript
+  private static final int MAX_CALLS_PER_SCRIPT = 256;
+  private static final int METADATA_CALLS = 3;
+  private static final int SUPPLY_CALLS = 1;
+
+  private final Neow3j neow3j;
+  private final List<Hash160> tokens;
+  private final List<Hash160> accounts;
+  private final Set<Hash160> metadataTokens;
+  private final Set<Hash160> supplyTokens;
+
+  /**
+   * Creates a query.
+   *
+   * @param neow3j         client of the chain
+   * @param tokens         tokens to read the balances of
+   * @param accounts       accounts to read the balances of
+   * @param metadataTokens tokens to read the metadata of as well
+   * @param supplyTokens   tokens to read only the total supply of as well
+   */
+  public BatchBalanceQuery(Neow3j neow3j, List<Hash160> tokens, List<Hash160> accounts,
+                           Set<Hash160> metadataTokens, Set<Hash160> supplyTokens) {
+    this.neow3j = neow3j;
+    this.tokens = tokens;
+    this.accounts = accounts;
+    this.metadataTokens = metadataTokens;
+    this.supplyTokens = supplyTokens;
+  }
+
+  /**
+   * Runs the query.
+   *
+   * @return balances and metadata read
+   */
+  public Result run() throws IOException {
+    var result = new Result();
+    var batch = new ArrayList<Call>();
+    var calls = 0;
+    for (Call call : getCalls()) {
+      if (!batch.isEmpty() && calls + call.count > MAX_CALLS_PER_SCRIPT) {
+        invoke(batch, result);
+        batch.clear();
+        calls = 0;
+      }
+      batch.add(call);
+      calls += call.count;
+    }
+    if (!batch.isEmpty()) {
+      invoke(batch, result);
+    }
+    return result;
+  }
+
+  private List<Call> getCalls() {
+    var calls = new ArrayList<Call>();
+    for (Hash160 token : tokens) {
+      // the reads of a token are kept in one script, the balances can be split at any account
+      if (metadataTokens.contains(token)) {
+        calls.add(new Call(token, null, METADATA_CALLS));
+      } else if (supplyTokens.contains(token)) {
+        calls.add(new Call(token, null, SUPPLY_CALLS));
+      }
+      for (Hash160 account : accounts) {
+        calls.add(new Call(token, account, 1));
+      }
+    }
+    return calls;
+  }
+
+  private void invoke(List<Call> batch, Result result) throws IOException {
+    var builder = new ScriptBuilder();
+    for (Call call : batch) {
+      if (call.account != null) {
+        builder.contractCall(call.token, "balanceOf",
+            List.of(ContractParameter.hash160(call.account)), CallFlags.READ_ONLY);
+      } else if (call.count == METADATA_CALLS) {
+        builder.contractCall(call.token, "symbol", List.of(), CallFlags.READ_ONLY);
+        builder.contractCall(call.token, "decimals", List.of(), CallFlags.READ_ONLY);
+        builder.contractCall(call.token, "totalSupply", List.of(), CallFlags.READ_ONLY);
+      } else {
+        builder.contractCall(call.token, "totalSupply", List.of(), CallFlags.READ_ONLY);
+      }
+    }
+
+    var response = neow3j.invokeScript(Numeric.toHexStringNoPrefix(builder.toArray())).send();
+    if (response.hasError()) {
+      throw new IOException(response.getError().getMessage());
+    }
+    var invocation = response.getInvocationResult();
+    if (invocation.hasStateFault()) {
+      throw new FaultException(invocation.getException());
+    }
+
+    // results are on the stack in the order of the calls
+    var stack = invocation.getStack();
+    var position = 0;
+    for (Call call : batch) {
+      if (call.account != null) {
+        result.balances.computeIfAbsent(call.token, t -> new HashMap<>())
+            .put(call.account, getInteger(stack.get(position)));
+      } else if (call.count == METADATA_CALLS) {
+        result.metadata.put(call.token, new TokenMetadata(TokenMetadata.UNKNOWN,
+            stack.get(position).getString(), stack.get(position + 1).getInteger().intValue(),
+            stack.get(position + 2).getInteger().toString()));
+      } else {
+        result.totalSupplies.put(call.token, stack.get(position).getInteger());
+      }
+      position += call.count;
+    }
+  }
+
+  private BigInteger getInteger(StackItem item) {
+    // balanceOf of an account that never held the token can be null on some contracts
+    return item.getValue() == null ? BigInteger.ZERO : item.getInteger();
+  }
+
+  /**
+   * Represents the calls made for a token, balanceOf of one account or the token reads.
+   */
+  private static class Call {
+    private final Hash160 token;
+    // null for the token reads
+    private final Hash160 account;
+    private final int count;
+
+    Call(Hash160 token, Hash160 account, int count) {
+      this.token = token;
+      this.account = account;
+      this.count = count;
+    }
+  }
+
+  /**
+   * Represents a query script that faulted, like when a token contract does not exist.
+   */
+  public static class FaultException extends IOException {
+    FaultException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Represents the balances and metadata read by a query.
+   */
+  public static class Result {
+    private final Map<Hash160, Map<Hash160, BigInteger>> balances = new HashMap<>();
+    private final Map<Hash160, TokenMetadata> metadata = new HashMap<>();
+    private final Map<Hash160, BigInteger> totalSupplies = new HashMap<>();
+
+    /**
+     * Gets the balance of an account in a token.
+     *
+     * @param token   token hash
+     * @param account account script hash
+     * @return balance, zero if not read
+     */
+    public BigInteger getBalance(Hash160 token, Hash160 account) {
+      return balances.getOrDefault(token, Map.of()).getOrDefault(account, BigInteger.ZERO);
+    }
+
+    /**
+     * Gets the metadata read of each token.
+     *
+     * @return metadata by token hash
+     */
+    public Map<Hash160, TokenMetadata> getMetadata() {
+      return metadata;
+    }
+
+    /**
+     * Gets the total supply read of each token whose metadata was not read.
+     *
+     * @return total supply by token hash
+     */
+    public Map<Hash160, BigInteger> getTotalSupplies() {
+      return totalSupplies;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.NeoGetBlock;
+import io.reactivex.Observable;
+import io.reactivex.schedulers.Schedulers;
+import java.io.IOException;
+import java.math.BigInteger;
+import org.neodapps.plugin.services.rpc.RpcClientRegistry;
+
+/**
+ * Fetches a range of historical blocks.
+ * Up to a bounded number of requests are kept in flight at once, and the responses are
+ * reordered so the blocks are delivered in index order.
+ * Blocks found in the block store are not requested from the node. Failed requests are retried
+ * by the client of the node, so a request that still fails fails the range.
+ */
+public class BlockBackfill {
+  private final Neow3j neow3j;
+  private final int concurrency;
+  private final BlockStore store;
+
+  /**
+   * Creates a backfill for a node.
+   *
+   * @param neow3j      node to fetch the blocks from
+   * @param concurrency maximum number of requests in flight, capped by the requests a node is
+   *                    sent at once
+   * @param store       store to read blocks from and write fetched blocks to, can be null
+   */
+  public BlockBackfill(Neow3j neow3j, int concurrency, BlockStore store) {
+    this.neow3j = neow3j;
+    this.concurrency =
+        Math.max(1, Math.min(concurrency, RpcClientRegistry.MAX_REQUESTS_PER_HOST));
+    this.store = store;
+  }
+
+  /**
+   * Fetches the blocks of a range.
+   *
+   * @param from             index of the first block
+   * @param to               index after the last block
+   * @param fullTransactions if transactions should be included
+   * @return blocks of the range in index order
+   */
+  public Observable<NeoGetBlock> fetch(long from, long to, boolean fullTransactions) {
+    return Observable.rangeLong(from, Math.max(0, to - from))
+        // requests run concurrently, concatMapEager keeps their results in order
+        .concatMapEager(index -> Observable
+                .fromCallable(() -> fetchBlock(index, fullTransactions))
+                .subscribeOn(Schedulers.io()),
+            concurrency, concurrency);
+  }
+
+  private NeoGetBlock fetchBlock(long index, boolean fullTransactions) throws IOException {
+    if (store != null) {
+      var stored = store.getBlock(index, fullTransactions);
+      if (stored != null) {
+        var response = new NeoGetBlock();
+        response.setResult(stored);
+        return response;
+      }
+    }
+    var response = neow3j.getBlock(BigInteger.valueOf(index), fullTransactions).send();
+    if (response.hasError()) {
+      throw new IOException(response.getError().getMessage());
+    }
+    if (store != null) {
+      store.put(response.getBlock(), fullTransactions);
+    }
+    return response;
+  }
+}
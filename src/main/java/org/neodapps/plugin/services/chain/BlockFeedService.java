@@ -0,0 +1,90 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.project.Project;
+import io.neow3j.protocol.core.response.NeoGetBlock;
+import io.reactivex.Observable;
+import io.reactivex.schedulers.Schedulers;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.NeoNotifier;
+import org.neodapps.plugin.blockchain.ChainLike;
+
+/**
+ * Maintains a single block stream per chain shared by every consumer in the project.
+ * The node is polled only while at least one consumer is subscribed. A feed that fails is
+ * started again after a pause from the block after the last one it delivered, so consumers do not
+ * need to subscribe again and do not receive a block twice. A failing node is notified once until
+ * the feed delivers blocks again.
+ */
+public class BlockFeedService {
+  private static final long RETRY_SECONDS = 5;
+
+  private final Project project;
+
+  // block feeds by chain and selected node
+  private final Map<String, Observable<NeoGetBlock>> feeds;
+
+  public BlockFeedService(@NotNull Project project) {
+    this.project = project;
+    this.feeds = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the shared block feed of a chain.
+   * Subscribers joining a running feed receive blocks from the point they subscribed.
+   *
+   * @param chain chain to listen to
+   * @return a stream of blocks
+   */
+  public Observable<NeoGetBlock> getBlockFeed(ChainLike chain) {
+    return feeds.computeIfAbsent(getFeedKey(chain), key -> createFeed(chain));
+  }
+
+  private Observable<NeoGetBlock> createFeed(ChainLike chain) {
+    // index of the first block not delivered yet, a retry resumes from there
+    var next = new AtomicLong();
+    // set while the node fails, so an outage is notified once
+    var failing = new AtomicBoolean();
+    return Observable
+        .defer(() -> {
+          var blocks = project.getService(BlockchainService.class)
+              .subscribeToBlocks(chain, next.get());
+          // notified if null
+          return blocks == null ? Observable.<NeoGetBlock>empty() : blocks;
+        })
+        .doOnNext(block -> {
+          failing.set(false);
+          if (block.getBlock() != null) {
+            next.set(block.getBlock().getIndex() + 1);
+          }
+        })
+        // connecting to the node is blocking, keep it out of the caller's thread
+        .subscribeOn(Schedulers.io())
+        // a failed request would end the feed of every consumer, start polling again instead
+        .retryWhen(errors -> errors
+            .doOnNext(error -> {
+              if (failing.compareAndSet(false, true)) {
+                NeoNotifier.notifyError(project, error.getMessage());
+              }
+            })
+            .delay(RETRY_SECONDS, TimeUnit.SECONDS))
+        // a feed started again by a new first subscriber gets the backfill again
+        .doOnDispose(() -> next.set(0))
+        // polling starts with the first subscriber and stops after the last one leaves
+        .publish()
+        .refCount();
+  }
+
+  private String getFeedKey(ChainLike chain) {
+    return String.format("%s:%s@%s", chain.getType(), chain, chain.getSelectedItem().getUrl());
+  }
+}
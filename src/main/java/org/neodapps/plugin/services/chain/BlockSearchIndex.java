@@ -0,0 +1,178 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.protocol.core.response.Transaction;
+import io.neow3j.protocol.core.response.TransactionSigner;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.Hash256;
+import io.neow3j.utils.Numeric;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an in-memory search index of the loaded blocks.
+ * Maps block hashes to blocks, transaction hashes to their block and sender or signer addresses
+ * to their transactions. Only the latest blocks up to the retention size are indexed, the
+ * entries of older blocks are removed as new blocks are added.
+ */
+public class BlockSearchIndex {
+  private final int retention;
+
+  private final Map<Hash256, Long> blocksByHash;
+  private final Map<Hash256, Long> blocksByTransaction;
+  private final Map<String, Set<Hash256>> transactionsByAddress;
+  // indexed blocks by index in the order added, used to evict the oldest
+  private final Map<Long, IndexedBlock> indexed;
+
+  /**
+   * Creates the search index.
+   *
+   * @param retention maximum number of blocks indexed
+   */
+  public BlockSearchIndex(int retention) {
+    this.retention = Math.max(1, retention);
+    this.blocksByHash = new HashMap<>();
+    this.blocksByTransaction = new HashMap<>();
+    this.transactionsByAddress = new HashMap<>();
+    this.indexed = new LinkedHashMap<>();
+  }
+
+  /**
+   * Adds a block to the index. A block added again replaces its previous entries, so a header
+   * can be indexed first and its transactions once the full block is known.
+   *
+   * @param block block or block header
+   */
+  public synchronized void add(NeoBlock block) {
+    var existing = indexed.get(block.getIndex());
+    if (existing != null) {
+      remove(existing);
+    }
+
+    var entry = new IndexedBlock(block.getIndex(), block.getHash());
+    blocksByHash.put(entry.hash, entry.index);
+    var transactions = block.getTransactions();
+    if (transactions != null) {
+      for (Transaction transaction : transactions) {
+        entry.transactions.add(transaction.getHash());
+        blocksByTransaction.put(transaction.getHash(), entry.index);
+        for (String address : getAddresses(transaction)) {
+          entry.addresses.add(address);
+          transactionsByAddress.computeIfAbsent(address, a -> new LinkedHashSet<>())
+              .add(transaction.getHash());
+        }
+      }
+    }
+    // replacing an entry keeps its place in the eviction order
+    indexed.put(entry.index, entry);
+
+    var iterator = indexed.values().iterator();
+    while (indexed.size() > retention) {
+      remove(iterator.next());
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Searches the index.
+   * The query can be a block hash, a transaction hash, an address or a script hash.
+   *
+   * @param query text to search for
+   * @return matches, empty if nothing was found
+   */
+  public synchronized List<BlockSearchResult> search(String query) {
+    var results = new ArrayList<BlockSearchResult>();
+    var text = query.trim();
+    if (text.isEmpty()) {
+      return results;
+    }
+
+    var hex = Numeric.cleanHexPrefix(text);
+    if (hex.length() == Hash256.LENGTH * 2 && isHex(hex)) {
+      var hash = new Hash256(hex);
+      var block = blocksByHash.get(hash);
+      if (block != null) {
+        results.add(new BlockSearchResult(block, null));
+      }
+      var transactionBlock = blocksByTransaction.get(hash);
+      if (transactionBlock != null) {
+        results.add(new BlockSearchResult(transactionBlock, hash));
+      }
+      return results;
+    }
+
+    var address = text;
+    if (hex.length() == Hash160.LENGTH * 2 && isHex(hex)) {
+      address = new Hash160(hex).toAddress();
+    }
+    var transactions = transactionsByAddress.get(address);
+    if (transactions != null) {
+      for (Hash256 transaction : transactions) {
+        results.add(new BlockSearchResult(blocksByTransaction.get(transaction), transaction));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  public synchronized void clear() {
+    blocksByHash.clear();
+    blocksByTransaction.clear();
+    transactionsByAddress.clear();
+    indexed.clear();
+  }
+
+  private void remove(IndexedBlock entry) {
+    blocksByHash.remove(entry.hash);
+    entry.transactions.forEach(blocksByTransaction::remove);
+    for (String address : entry.addresses) {
+      var transactions = transactionsByAddress.get(address);
+      if (transactions != null) {
+        transactions.removeAll(entry.transactions);
+        if (transactions.isEmpty()) {
+          transactionsByAddress.remove(address);
+        }
+      }
+    }
+  }
+
+  private boolean isHex(String text) {
+    return text.matches("[0-9a-fA-F]+");
+  }
+
+  private Set<String> getAddresses(Transaction transaction) {
+    var addresses = new LinkedHashSet<String>();
+    addresses.add(transaction.getSender());
+    var signers = transaction.getSigners();
+    if (signers != null) {
+      for (TransactionSigner signer : signers) {
+        addresses.add(signer.getAccount().toAddress());
+      }
+    }
+    return addresses;
+  }
+
+  private static class IndexedBlock {
+    private final long index;
+    private final Hash256 hash;
+    private final List<Hash256> transactions = new ArrayList<>();
+    private final Set<String> addresses = new LinkedHashSet<>();
+
+    private IndexedBlock(long index, Hash256 hash) {
+      this.index = index;
+      this.hash = hash;
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.types.Hash256;
+import org.neodapps.plugin.NeoMessageBundle;
+
+/**
+ * Represents a match of a block search, a block or a transaction in a block.
+ */
+public class BlockSearchResult {
+  private final long blockIndex;
+  private final Hash256 transaction;
+
+  /**
+   * Creates a search result.
+   *
+   * @param blockIndex  index of the block
+   * @param transaction hash of the matched transaction, null if the block matched
+   */
+  public BlockSearchResult(long blockIndex, Hash256 transaction) {
+    this.blockIndex = blockIndex;
+    this.transaction = transaction;
+  }
+
+  public long getBlockIndex() {
+    return blockIndex;
+  }
+
+  public Hash256 getTransaction() {
+    return transaction;
+  }
+
+  @Override
+  public String toString() {
+    if (transaction == null) {
+      return NeoMessageBundle.message("block.search.result.block", blockIndex);
+    }
+    return NeoMessageBundle.message("block.search.result.transaction", transaction, blockIndex);
+  }
+}
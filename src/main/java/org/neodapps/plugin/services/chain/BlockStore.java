@@ -0,0 +1,306 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.protocol.ObjectMapperFactory;
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.types.Hash256;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents an append-only on-disk store of the blocks of a chain.
+ * Block summaries are kept in memory-mapped segments of fixed size records indexed by the
+ * block index, block bodies are appended to a data file as json.
+ * The store is a cache, once the data file reaches its size limit the store starts over.
+ */
+public class BlockStore {
+  private static final int RECORD_SIZE = 64;
+  private static final int RECORDS_PER_SEGMENT = 1 << 16;
+  private static final long SEGMENT_SIZE = (long) RECORD_SIZE * RECORDS_PER_SEGMENT;
+  private static final long MAX_DATA_SIZE = 1L << 30;
+
+  // record layout
+  private static final int TIME = 0;
+  private static final int TRANSACTION_COUNT = 8;
+  private static final int SIZE = 12;
+  private static final int HASH = 16;
+  private static final int DATA_OFFSET = 48;
+  private static final int DATA_LENGTH = 56;
+  private static final int FLAGS = 60;
+
+  private static final int PRESENT = 1;
+  private static final int FULL_TRANSACTIONS = 2;
+
+  private final Path directory;
+  private final Map<Long, MappedByteBuffer> segments;
+  private final FileChannel data;
+  private long highestIndex;
+
+  /**
+   * Opens or creates the store in a directory.
+   *
+   * @param directory directory of the store
+   */
+  public BlockStore(Path directory) throws IOException {
+    this.directory = directory;
+    this.segments = new HashMap<>();
+    Files.createDirectories(directory);
+    this.data = FileChannel.open(directory.resolve("blocks.dat"),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.highestIndex = findHighestIndex();
+  }
+
+  /**
+   * Gets the summary of a stored block.
+   *
+   * @param index block index
+   * @return the summary, null if the block is not stored
+   */
+  public synchronized BlockSummary getSummary(long index) {
+    var segment = getSegment(index, false);
+    if (segment == null) {
+      return null;
+    }
+    var position = getPosition(index);
+    if ((segment.getInt(position + FLAGS) & PRESENT) == 0) {
+      return null;
+    }
+    var hash = new byte[32];
+    segment.duplicate().position(position + HASH).get(hash);
+    return new BlockSummary(index, segment.getLong(position + TIME),
+        segment.getInt(position + TRANSACTION_COUNT), segment.getInt(position + SIZE), hash);
+  }
+
+  /**
+   * Gets a stored block.
+   *
+   * @param index            block index
+   * @param fullTransactions if the transactions of the block are required
+   * @return the block, null if not stored or stored without transactions when required
+   */
+  public synchronized NeoBlock getBlock(long index, boolean fullTransactions) {
+    var segment = getSegment(index, false);
+    if (segment == null) {
+      return null;
+    }
+    var position = getPosition(index);
+    var flags = segment.getInt(position + FLAGS);
+    if ((flags & PRESENT) == 0 || (fullTransactions && (flags & FULL_TRANSACTIONS) == 0)) {
+      return null;
+    }
+    var bytes = ByteBuffer.allocate(segment.getInt(position + DATA_LENGTH));
+    var offset = segment.getLong(position + DATA_OFFSET);
+    try {
+      while (bytes.hasRemaining()) {
+        if (data.read(bytes, offset + bytes.position()) < 0) {
+          return null;
+        }
+      }
+      return ObjectMapperFactory.getObjectMapper().readValue(bytes.array(), NeoBlock.class);
+    } catch (IOException e) {
+      // treat unreadable data as not stored
+      return null;
+    }
+  }
+
+  /**
+   * Stores a block. Blocks already stored are only replaced to add their transactions.
+   *
+   * @param block            block to store
+   * @param fullTransactions if the block has its transactions
+   */
+  public synchronized void put(NeoBlock block, boolean fullTransactions) {
+    var index = block.getIndex();
+    var segment = getSegment(index, true);
+    if (segment == null) {
+      return;
+    }
+    var position = getPosition(index);
+    var flags = segment.getInt(position + FLAGS);
+    if ((flags & PRESENT) != 0 && (!fullTransactions || (flags & FULL_TRANSACTIONS) != 0)) {
+      // blocks below the tip never change
+      return;
+    }
+    try {
+      var bytes = ObjectMapperFactory.getObjectMapper().writeValueAsBytes(block);
+      if (data.size() + bytes.length > MAX_DATA_SIZE) {
+        // bodies are only appended, drop them all rather than grow without limit
+        clear();
+      }
+      var offset = data.size();
+      data.write(ByteBuffer.wrap(bytes), offset);
+
+      var summary =
+          fullTransactions ? BlockSummary.fromBlock(block) : BlockSummary.fromHeader(block);
+      segment.putLong(position + TIME, summary.getTime());
+      segment.putInt(position + TRANSACTION_COUNT, summary.getTransactionCount());
+      segment.putInt(position + SIZE, summary.getSize());
+      segment.duplicate().position(position + HASH).put(summary.getHash().toArray());
+      segment.putLong(position + DATA_OFFSET, offset);
+      segment.putInt(position + DATA_LENGTH, bytes.length);
+      segment.putInt(position + FLAGS, PRESENT | (fullTransactions ? FULL_TRANSACTIONS : 0));
+      highestIndex = Math.max(highestIndex, index);
+    } catch (IOException e) {
+      // the store is a cache, skip blocks that can not be written
+    }
+  }
+
+  public synchronized long getHighestIndex() {
+    return highestIndex;
+  }
+
+  /**
+   * Checks the store against the chain and clears it if the chain was reset.
+   * The genesis block and the highest stored block that exists in the chain are compared.
+   *
+   * @param blockCount current block count of the chain
+   * @param lookup     gets the hash of a block from the chain
+   */
+  public synchronized void validate(long blockCount, BlockHashLookup lookup) throws IOException {
+    if (highestIndex < 0) {
+      return;
+    }
+    if (highestIndex >= blockCount) {
+      // the chain is shorter than what is stored
+      clear();
+      return;
+    }
+    var genesis = getSummary(0);
+    if (genesis != null && !genesis.getHash().equals(lookup.getBlockHash(0))) {
+      clear();
+      return;
+    }
+    var tip = getSummary(highestIndex);
+    if (tip != null && !tip.getHash().equals(lookup.getBlockHash(highestIndex))) {
+      // blocks after the genesis are different, the chain was reset
+      clear();
+    }
+  }
+
+  /**
+   * Removes all the stored blocks.
+   */
+  public synchronized void clear() {
+    try (var files = Files.list(directory)) {
+      files.filter(f -> f.getFileName().toString().startsWith("summaries-"))
+          .forEach(f -> {
+            var id = getSegmentId(f);
+            var segment = segments.get(id);
+            if (segment == null) {
+              segment = mapSegment(f);
+            }
+            if (segment != null) {
+              clearSegment(segment);
+            }
+          });
+      data.truncate(0);
+    } catch (IOException e) {
+      // nothing more can be done, the records are cleared
+    }
+    highestIndex = -1;
+  }
+
+  /**
+   * Flushes the store and closes its files.
+   */
+  public synchronized void close() {
+    segments.values().forEach(MappedByteBuffer::force);
+    segments.clear();
+    try {
+      data.close();
+    } catch (IOException e) {
+      // closing anyway
+    }
+  }
+
+  private MappedByteBuffer getSegment(long index, boolean create) {
+    if (index < 0) {
+      return null;
+    }
+    var id = index / RECORDS_PER_SEGMENT;
+    var segment = segments.get(id);
+    if (segment != null) {
+      return segment;
+    }
+    var path = directory.resolve(String.format("summaries-%d.dat", id));
+    if (!create && !Files.exists(path)) {
+      return null;
+    }
+    segment = mapSegment(path);
+    if (segment != null) {
+      segments.put(id, segment);
+    }
+    return segment;
+  }
+
+  private MappedByteBuffer mapSegment(Path path) {
+    try (var channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // the mapping stays valid after the channel is closed
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private long findHighestIndex() throws IOException {
+    long highestSegment;
+    try (var files = Files.list(directory)) {
+      highestSegment = files
+          .filter(f -> f.getFileName().toString().startsWith("summaries-"))
+          .mapToLong(this::getSegmentId)
+          .max().orElse(-1);
+    }
+    for (long id = highestSegment; id >= 0; id--) {
+      var segment = getSegment(id * RECORDS_PER_SEGMENT, false);
+      if (segment == null) {
+        continue;
+      }
+      for (int i = RECORDS_PER_SEGMENT - 1; i >= 0; i--) {
+        if ((segment.getInt(i * RECORD_SIZE + FLAGS) & PRESENT) != 0) {
+          return id * RECORDS_PER_SEGMENT + i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private long getSegmentId(Path path) {
+    var name = path.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring("summaries-".length(), name.length() - ".dat".length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private void clearSegment(MappedByteBuffer segment) {
+    var zeros = new byte[RECORD_SIZE * 1024];
+    var buffer = segment.duplicate().position(0);
+    while (buffer.hasRemaining()) {
+      buffer.put(zeros, 0, Math.min(zeros.length, buffer.remaining()));
+    }
+  }
+
+  private int getPosition(long index) {
+    return (int) (index % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+  }
+
+  /**
+   * Gets the hash of a block from the chain.
+   */
+  public interface BlockHashLookup {
+    Hash256 getBlockHash(long index) throws IOException;
+  }
+}
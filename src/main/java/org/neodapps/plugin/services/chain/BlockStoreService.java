@@ -0,0 +1,62 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the on-disk block stores of the chains, keyed by network magic.
+ * Stores live in the IDE system directory so they survive restarts. The directory is shared by
+ * all open projects, so the stores are kept by the application and a chain has one store however
+ * many projects use it.
+ */
+public class BlockStoreService implements Disposable {
+  // open stores by network magic
+  private final Map<Long, BlockStore> stores;
+
+  public BlockStoreService() {
+    this.stores = new HashMap<>();
+  }
+
+  public static BlockStoreService getInstance() {
+    return ApplicationManager.getApplication().getService(BlockStoreService.class);
+  }
+
+  /**
+   * Returns the block store of a network.
+   *
+   * @param magic network magic
+   * @return the block store, null if it can not be opened
+   */
+  public synchronized BlockStore getStore(Long magic) {
+    if (magic == null) {
+      return null;
+    }
+    return stores.computeIfAbsent(magic, this::openStore);
+  }
+
+  private BlockStore openStore(long magic) {
+    try {
+      return new BlockStore(
+          Paths.get(PathManager.getSystemPath(), "neo", "blocks", Long.toString(magic)));
+    } catch (IOException e) {
+      // blocks are fetched from the node without a store
+      return null;
+    }
+  }
+
+  @Override
+  public synchronized void dispose() {
+    stores.values().forEach(BlockStore::close);
+    stores.clear();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.types.Hash256;
+
+/**
+ * Represents a compact summary of a block.
+ * Holds only what the block table shows, the full block can be fetched with the index.
+ */
+public class BlockSummary {
+  // transaction count and size are unknown when summarizing a block header
+  public static final int UNKNOWN = -1;
+
+  private final long index;
+  private final long time;
+  private final int transactionCount;
+  private final int size;
+  private final byte[] hash;
+
+  /**
+   * Creates a block summary.
+   *
+   * @param index            block index
+   * @param time             block time in milliseconds
+   * @param transactionCount number of transactions in the block
+   * @param size             block size in bytes
+   * @param hash             block hash bytes
+   */
+  public BlockSummary(long index, long time, int transactionCount, int size, byte[] hash) {
+    this.index = index;
+    this.time = time;
+    this.transactionCount = transactionCount;
+    this.size = size;
+    this.hash = hash;
+  }
+
+  /**
+   * Creates a block summary from a block.
+   *
+   * @param block block to summarize
+   * @return summary of the block
+   */
+  public static BlockSummary fromBlock(NeoBlock block) {
+    var transactions = block.getTransactions();
+    return new BlockSummary(block.getIndex(), block.getTime(),
+        transactions == null ? 0 : transactions.size(), (int) block.getSize(),
+        block.getHash().toArray());
+  }
+
+  /**
+   * Creates a block summary from a block header.
+   * A header has no transactions, but an empty block is known by its zero merkle root.
+   *
+   * @param header block header to summarize
+   * @return summary of the block
+   */
+  public static BlockSummary fromHeader(NeoBlock header) {
+    if (Hash256.ZERO.equals(header.getMerkleRootHash())) {
+      // an empty block is the header and a single byte for the transaction count
+      return new BlockSummary(header.getIndex(), header.getTime(), 0,
+          (int) header.getSize() + 1, header.getHash().toArray());
+    }
+    return new BlockSummary(header.getIndex(), header.getTime(), UNKNOWN, UNKNOWN,
+        header.getHash().toArray());
+  }
+
+  public long getIndex() {
+    return index;
+  }
+
+  public long getTime() {
+    return time;
+  }
+
+  public int getTransactionCount() {
+    return transactionCount;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public Hash256 getHash() {
+    return new Hash256(hash);
+  }
+
+  public boolean isEmpty() {
+    return transactionCount == 0;
+  }
+
+  public boolean isComplete() {
+    return transactionCount != UNKNOWN;
+  }
+}
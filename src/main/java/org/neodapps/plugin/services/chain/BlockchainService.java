@@ -5,45 +5,48 @@
 
 package org.neodapps.plugin.services.chain;
 
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import io.neow3j.contract.ContractManagement;
+import io.neow3j.contract.GasToken;
 import io.neow3j.contract.NefFile;
+import io.neow3j.contract.NeoToken;
 import io.neow3j.contract.SmartContract;
-import io.neow3j.contract.Token;
 import io.neow3j.protocol.Neow3j;
 import io.neow3j.protocol.ObjectMapperFactory;
 import io.neow3j.protocol.core.response.ContractManifest;
 import io.neow3j.protocol.core.response.ExpressContractState;
 import io.neow3j.protocol.core.response.InvocationResult;
+import io.neow3j.protocol.core.response.NeoBlock;
 import io.neow3j.protocol.core.response.NeoGetBlock;
 import io.neow3j.protocol.core.response.NeoSendRawTransaction;
-import io.neow3j.protocol.http.HttpService;
 import io.neow3j.transaction.AccountSigner;
 import io.neow3j.types.ContractParameter;
 import io.neow3j.types.Hash160;
 import io.neow3j.wallet.Wallet;
+import io.neow3j.wallet.nep6.NEP6Account;
 import io.neow3j.wallet.nep6.NEP6Wallet;
 import io.reactivex.Observable;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.BlockChainType;
-import org.neodapps.plugin.blockchain.Chain;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.blockchain.ConsensusNodeLike;
+import org.neodapps.plugin.blockchain.NodeHealth;
 import org.neodapps.plugin.blockchain.NodeRunningState;
 import org.neodapps.plugin.blockchain.PrivateChain;
-import org.neodapps.plugin.blockchain.express.ExpressConsensusNode;
+import org.neodapps.plugin.persistance.SettingsState;
+import org.neodapps.plugin.services.rpc.RpcClientRegistry;
 
 /**
  * Represents block chain util services.
@@ -61,15 +64,48 @@ public class BlockchainService {
    * @param chain chain to check the status
    */
   public NodeRunningState checkNodeStatus(ChainLike chain, ConsensusNodeLike node) {
-    var state = NodeRunningState.NOT_RUNNING;
-    if (chain != null) {
+    if (chain == null) {
+      return NodeRunningState.NOT_RUNNING;
+    }
+    return probeNode(chain, node).getState();
+  }
+
+  /**
+   * Probes a node for its running state, latency and block height.
+   * A node of a private chain only counts as running if it runs that chain.
+   *
+   * @param chain chain of the node
+   * @param node  node to probe
+   * @return health of the node
+   */
+  public NodeHealth probeNode(ChainLike chain, ConsensusNodeLike node) {
+    var identityService = project.getService(ChainIdentityService.class);
+    var neow3j = project.getService(RpcClientRegistry.class).getClient(node.getUrl(), null);
+    long height;
+    long latency;
+    try {
+      var start = System.nanoTime();
+      var response = neow3j.getBlockCount().send();
+      latency = (System.nanoTime() - start) / 1_000_000;
+      if (response.hasError()) {
+        return NodeHealth.notRunning();
+      }
+      height = response.getBlockCount().longValue();
+
       if (chain.getType().equals(BlockChainType.PRIVATE)) {
-        state = getPrivateNodeRunningState((PrivateChain) chain, (ExpressConsensusNode) node);
-      } else {
-        state = getPublicNodeRunningState((Chain) chain);
+        // get the magic number of running instance, resolved once while the node is up
+        // do not use the util.getmagicnumber function here
+        var magicNumber = identityService.getIdentity(node.getUrl()).getMagic();
+        if (((PrivateChain) chain).getConfig().getMagic() != magicNumber) {
+          return NodeHealth.notRunning();
+        }
       }
+    } catch (IOException e) {
+      // the node may be restarted with another chain
+      identityService.invalidate(node.getUrl());
+      return NodeHealth.notRunning();
     }
-    return state;
+    return new NodeHealth(NodeRunningState.RUNNING, latency, height);
   }
 
   /**
@@ -93,21 +129,27 @@ public class BlockchainService {
           .getObjectMapper()
           .readValue(new FileInputStream(Paths.get(manifestPath).toFile()), ContractManifest.class);
 
-      var wallet = Wallet.fromNEP6Wallet(walletToDeploy);
-
-      // decrypt wallet before deployment
-      project.getService(WalletService.class).decryptWalletWithDefaultPassword(wallet);
+      // express wallets come with their keys, no decryption on deployment
+      var wallet =
+          project.getService(WalletService.class).getSigningWallet(walletToDeploy, chain);
 
+      var sender = wallet.getAccounts().get(0).getScriptHash();
       new ContractManagement(neow3j)
           .deploy(nefFile, manifest)
           .wallet(wallet)
-          .signers(AccountSigner.global(wallet.getAccounts().get(0).getScriptHash()))
+          .signers(AccountSigner.global(sender))
           .sign()
           .send();
+      // the hash is known before the deployment is persisted
+      project.getService(AddressBookService.class).addContract(chain,
+          SmartContract.calcContractHash(sender, nefFile.getCheckSumAsInteger(),
+              manifest.getName()),
+          manifest.getName());
       NeoNotifier.notifySuccess(project,
           NeoMessageBundle.message("contracts.deploy.success", manifest.getName()));
-      // encrypt wallet before deployment
-      project.getService(WalletService.class).encryptWalletWithDefaultPassword(wallet);
+    } catch (ProcessCanceledException e) {
+      // cancelled while decrypting the keys
+      throw e;
     } catch (Throwable e) {
       NeoNotifier.notifyError(project, e.getMessage());
     }
@@ -115,12 +157,18 @@ public class BlockchainService {
 
   /**
    * Returns the Nep17 balances of list of addresses with asset symbol.
+   * The balances of all the wallets are read with one invokescript, see
+   * {@link BatchBalanceQuery}. The tokens held by a wallet are looked up once per session, token
+   * metadata comes from the cache. When refreshed, the update counters of the tokens are checked
+   * and the metadata of updated contracts is read again, the other tokens only read their supply.
+   * Safe to call for several wallets in parallel.
    *
-   * @param chain selected chain
+   * @param chain         selected chain
+   * @param refreshTokens true to check the tokens and read their total supply again
    * @return a map of token
    */
   public Map<NEP6Wallet, List<TokenBalance>> getTokenBalances(
-      List<NEP6Wallet> wallets, ChainLike chain) {
+      List<NEP6Wallet> wallets, ChainLike chain, boolean refreshTokens) {
     Map<NEP6Wallet, List<TokenBalance>> result = new HashMap<>();
 
     Neow3j neow3j = project.getService(UtilService.class).getNeow3jInstance(chain);
@@ -129,17 +177,12 @@ public class BlockchainService {
       return result;
     }
     try {
-      for (NEP6Wallet wallet : wallets) {
-        var balances = Wallet.fromNEP6Wallet(wallet).getNep17TokenBalances(neow3j);
-        List<TokenBalance> balanceList = new ArrayList<>();
-        for (Hash160 hash160 : balances.keySet()) {
-          var balance = balances.get(hash160);
-          var token = new Token(hash160, neow3j);
-          var tokenBalance = new TokenBalance(hash160, token.getTotalSupply(), token.getDecimals(),
-              token.getSymbol(), balance);
-          balanceList.add(tokenBalance);
-        }
-        result.put(wallet, balanceList);
+      try {
+        return readTokenBalances(wallets, chain, neow3j, refreshTokens);
+      } catch (BatchBalanceQuery.FaultException e) {
+        // a cached token no longer exists, like after a private net reset, look them up again
+        project.getService(TokenMetadataService.class).clear(chain);
+        return readTokenBalances(wallets, chain, neow3j, true);
       }
     } catch (IOException e) {
       NeoNotifier.notifyError(project, e.getMessage());
@@ -147,6 +190,86 @@ public class BlockchainService {
     return result;
   }
 
+  private Map<NEP6Wallet, List<TokenBalance>> readTokenBalances(
+      List<NEP6Wallet> wallets, ChainLike chain, Neow3j neow3j, boolean refreshTokens)
+      throws IOException {
+    Map<NEP6Wallet, List<TokenBalance>> result = new HashMap<>();
+    var tokens = project.getService(TokenMetadataService.class);
+    for (NEP6Wallet wallet : wallets) {
+      if (!tokens.isDiscovered(chain, wallet)) {
+        discoverTokens(wallet, chain, neow3j);
+      }
+    }
+
+    var tokenHashes = new ArrayList<>(List.of(NeoToken.SCRIPT_HASH, GasToken.SCRIPT_HASH));
+    for (Hash160 token : tokens.getTokens(chain)) {
+      if (!tokenHashes.contains(token)) {
+        tokenHashes.add(token);
+      }
+    }
+    // one getcontractstate per token, drops the tokens that no longer exist
+    Map<Hash160, Integer> updateCounters = refreshTokens
+        ? tokens.refresh(chain, tokenHashes, neow3j) : Map.of();
+    if (refreshTokens) {
+      tokenHashes.removeIf(token -> !updateCounters.containsKey(token));
+    }
+    var accounts = new ArrayList<Hash160>();
+    for (NEP6Wallet wallet : wallets) {
+      for (NEP6Account account : wallet.getAccounts()) {
+        accounts.add(Hash160.fromAddress(account.getAddress()));
+      }
+    }
+    var metadataTokens = new HashSet<Hash160>();
+    var supplyTokens = new HashSet<Hash160>();
+    for (Hash160 token : tokenHashes) {
+      var cached = tokens.getCachedMetadata(chain, token);
+      if (cached == null || TokenMetadataService.isStale(cached, updateCounters.get(token))) {
+        metadataTokens.add(token);
+      } else if (refreshTokens) {
+        supplyTokens.add(token);
+      }
+    }
+
+    var balances = new BatchBalanceQuery(neow3j, tokenHashes, accounts, metadataTokens,
+        supplyTokens).run();
+    tokens.update(chain, balances.getMetadata(), balances.getTotalSupplies(), updateCounters);
+
+    for (NEP6Wallet wallet : wallets) {
+      List<TokenBalance> balanceList = new ArrayList<>();
+      for (Hash160 token : tokenHashes) {
+        // a wallet holds the sum of its accounts
+        var balance = BigInteger.ZERO;
+        for (NEP6Account account : wallet.getAccounts()) {
+          balance = balance.add(
+              balances.getBalance(token, Hash160.fromAddress(account.getAddress())));
+        }
+        if (balance.signum() == 0) {
+          continue;
+        }
+        var metadata = balances.getMetadata().containsKey(token)
+            ? balances.getMetadata().get(token) : tokens.getCachedMetadata(chain, token);
+        if (metadata == null) {
+          // cache cleared meanwhile, shown with the next load
+          continue;
+        }
+        balanceList.add(new TokenBalance(token, TokenMetadataService.getTotalSupply(metadata),
+            metadata.decimals, metadata.symbol, balance));
+      }
+      result.put(wallet, balanceList);
+    }
+    return result;
+  }
+
+  private void discoverTokens(NEP6Wallet wallet, ChainLike chain, Neow3j neow3j)
+      throws IOException {
+    var tokens = project.getService(TokenMetadataService.class);
+    for (Hash160 token : Wallet.fromNEP6Wallet(wallet).getNep17TokenBalances(neow3j).keySet()) {
+      // caches the metadata of tokens not seen before
+      tokens.getMetadata(chain, token, neow3j);
+    }
+    tokens.setDiscovered(chain, wallet);
+  }
+
   /**
    * Invokes a contract method.
    *
@@ -166,20 +289,19 @@ public class BlockchainService {
       return null;
     }
 
-    var wallet = Wallet.fromNEP6Wallet(nep6Wallet);
-    var walletService = project.getService(WalletService.class);
-    walletService.decryptWalletWithDefaultPassword(wallet);
     try {
+      var wallet = project.getService(WalletService.class).getSigningWallet(nep6Wallet, chain);
       return new SmartContract(contractState.getHash(), neow3j)
           .invokeFunction(methodToInvoke.getName(), parameters.toArray(ContractParameter[]::new))
           .wallet(wallet)
           .signers(AccountSigner.calledByEntry(wallet.getAccounts().get(0)))
           .sign().send().getSendRawTransaction();
+    } catch (ProcessCanceledException e) {
+      // cancelled while decrypting the keys
+      throw e;
     } catch (Throwable throwable) {
       NeoNotifier.notifyError(project, throwable.getMessage());
       return null;
-    } finally {
-      walletService.decryptWalletWithDefaultPassword(wallet);
     }
   }
 
@@ -202,28 +324,39 @@ public class BlockchainService {
       return null;
     }
 
-    var wallet = Wallet.fromNEP6Wallet(nep6Wallet);
-    var walletService = project.getService(WalletService.class);
-    walletService.decryptWalletWithDefaultPassword(wallet);
     try {
+      var wallet = project.getService(WalletService.class).getSigningWallet(nep6Wallet, chain);
       return new SmartContract(contractState.getHash(), neow3j)
           .callInvokeFunction(methodToInvoke.getName(), parameters,
               AccountSigner.calledByEntry(wallet.getAccounts().get(0).getScriptHash()))
           .getInvocationResult();
+    } catch (ProcessCanceledException e) {
+      // cancelled while decrypting the keys
+      throw e;
     } catch (Throwable throwable) {
       NeoNotifier.notifyError(project, throwable.getMessage());
       return null;
-    } finally {
-      walletService.decryptWalletWithDefaultPassword(wallet);
     }
   }
 
   /**
    * Subscribes and listen to blocks.
+   * Each call starts a new poller, use {@link BlockFeedService} to share one per chain.
    *
    * @param chainLike chain to subscribe
    */
   public Observable<NeoGetBlock> subscribeToBlocks(ChainLike chainLike) {
+    return subscribeToBlocks(chainLike, 0);
+  }
+
+  /**
+   * Subscribes and listen to blocks, starting no lower than a block.
+   * Used to resume a feed, the backfill then only covers the blocks it missed.
+   *
+   * @param chainLike chain to subscribe
+   * @param first     index of the first block wanted
+   */
+  public Observable<NeoGetBlock> subscribeToBlocks(ChainLike chainLike, long first) {
     var neow3j = project.getService(UtilService.class).getNeow3jInstance(chainLike);
     if (neow3j == null) {
       // notified, exiting
@@ -238,51 +371,140 @@ public class BlockchainService {
       return null;
     }
 
-    return neow3j
-        .catchUpToLatestAndSubscribeToNewBlocksObservable(
-            new BigInteger("0").max(blockCount.subtract(new BigInteger("10"))),
-            true);
+    // blocks below the current height never change, read them from the store if possible
+    var store = getValidatedStore(neow3j, chainLike, blockCount.longValue());
 
+    // older blocks are fetched concurrently, then new blocks are polled from the latest
+    var settings = SettingsState.getInstance();
+    var fullTransactions = !isHeaderFeed(chainLike);
+    var latest = blockCount.longValue();
+    var from = Math.max(first, Math.max(0, latest - Math.max(0, settings.blockBackfillDepth)));
+    return new BlockBackfill(neow3j, settings.blockBackfillConcurrency, store)
+        .fetch(from, latest, fullTransactions)
+        .concatWith(Observable.defer(
+            () -> neow3j
+                .catchUpToLatestAndSubscribeToNewBlocksObservable(blockCount, fullTransactions)
+                .doOnNext(block -> {
+                  if (store != null) {
+                    store.put(block.getBlock(), fullTransactions);
+                  }
+                })));
   }
 
+  /**
+   * Checks if the block feed of a chain delivers only block headers.
+   * Transactions of a block are then fetched when the block is opened.
+   *
+   * @param chain chain of the feed
+   * @return true if the feed has headers only
+   */
+  public boolean isHeaderFeed(ChainLike chain) {
+    // private nets are local, full blocks are cheap there
+    return !chain.getType().equals(BlockChainType.PRIVATE)
+        && SettingsState.getInstance().blockHeadersOnly;
+  }
+
+  /**
+   * Gets a block with all its transactions.
+   * The block is read from the block store if it was fetched before.
+   *
+   * @param chain chain of the block
+   * @param index index of the block
+   * @return the full block, null if it could not be fetched
+   */
+  public NeoBlock getBlock(ChainLike chain, long index) {
+    var store = getStore(chain);
+    if (store != null) {
+      var stored = store.getBlock(index, true);
+      if (stored != null) {
+        return stored;
+      }
+    }
 
-  private NodeRunningState getPublicNodeRunningState(Chain chain) {
     var neow3j = project.getService(UtilService.class).getNeow3jInstance(chain);
     if (neow3j == null) {
-      return NodeRunningState.NOT_RUNNING;
+      // notified, exiting
+      return null;
     }
-
     try {
-      neow3j.getBlockCount().send().getBlockCount();
-      return NodeRunningState.RUNNING;
+      var block = neow3j.getBlock(BigInteger.valueOf(index), true).send().getBlock();
+      if (store != null && block != null) {
+        store.put(block, true);
+      }
+      return block;
     } catch (IOException e) {
-      return NodeRunningState.NOT_RUNNING;
+      NeoNotifier.notifyError(project, e.getMessage());
+      return null;
     }
   }
 
-  private NodeRunningState getPrivateNodeRunningState(PrivateChain chain,
-                                                      ExpressConsensusNode node) {
-    long magicNumber;
+  /**
+   * Gets the summaries of a range of blocks, used to page in older blocks.
+   * Summaries are read from the block store, missing blocks are fetched from the node.
+   *
+   * @param chain chain of the blocks
+   * @param from  index of the first block
+   * @param to    index after the last block
+   * @return summaries in index order, null if the blocks could not be fetched
+   */
+  public List<BlockSummary> getBlockSummaries(ChainLike chain, long from, long to) {
+    var store = getStore(chain);
+    var summaries = new ArrayList<BlockSummary>();
+    long firstMissing = -1;
+    long lastMissing = -1;
+    for (long index = from; index < to; index++) {
+      var summary = store == null ? null : store.getSummary(index);
+      summaries.add(summary);
+      if (summary == null) {
+        firstMissing = firstMissing < 0 ? index : firstMissing;
+        lastMissing = index;
+      }
+    }
+    if (firstMissing < 0) {
+      return summaries;
+    }
+
+    var neow3j = project.getService(UtilService.class).getNeow3jInstance(chain);
+    if (neow3j == null) {
+      // notified, exiting
+      return null;
+    }
+    var fullTransactions = !isHeaderFeed(chain);
     try {
-      // check if running without magic number
-      var neow3j = Neow3j.build(new HttpService(node.getUrl()));
-      neow3j.getBlockCount().send().getBlockCount();
-
-      // get the magic number of running instance
-      // do not use the util.getmagicnumber function here
-      magicNumber =
-          Integer.toUnsignedLong(
-              ByteBuffer.wrap(neow3j.getNetworkMagicNumberBytes()).order(ByteOrder.LITTLE_ENDIAN)
-                  .getInt());
-    } catch (IOException e) {
-      return NodeRunningState.NOT_RUNNING;
+      new BlockBackfill(neow3j, SettingsState.getInstance().blockBackfillConcurrency, store)
+          .fetch(firstMissing, lastMissing + 1, fullTransactions)
+          .blockingForEach(response -> {
+            var block = response.getBlock();
+            summaries.set((int) (block.getIndex() - from), fullTransactions
+                ? BlockSummary.fromBlock(block) : BlockSummary.fromHeader(block));
+          });
+    } catch (RuntimeException e) {
+      NeoNotifier.notifyError(project, e.getMessage());
+      return null;
     }
+    return summaries;
+  }
 
-    // compare magic number
-    if (chain.getConfig().getMagic() == magicNumber) {
-      return NodeRunningState.RUNNING;
+  private BlockStore getStore(ChainLike chain) {
+    return BlockStoreService.getInstance()
+        .getStore(project.getService(UtilService.class).getMagicNumber(chain));
+  }
+
+  private BlockStore getValidatedStore(Neow3j neow3j, ChainLike chain, long blockCount) {
+    var store = getStore(chain);
+    if (store == null) {
+      return null;
+    }
+    try {
+      // a reset chain keeps its magic, compare stored hashes with the chain
+      var genesisHash =
+          project.getService(ChainIdentityService.class).getIdentity(chain).getGenesisHash();
+      store.validate(blockCount, index -> index == 0 ? genesisHash
+          : neow3j.getBlockHash(BigInteger.valueOf(index)).send().getBlockHash());
+      return store;
+    } catch (IOException e) {
+      // could not validate, do not use the store
+      return null;
     }
-    return NodeRunningState.NOT_RUNNING;
   }
 }
-
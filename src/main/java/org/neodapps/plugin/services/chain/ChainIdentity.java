@@ -0,0 +1,36 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.types.Hash256;
+
+/**
+ * Represents what identifies the chain a node runs: network magic and the hash of the genesis
+ * block.
+ */
+public class ChainIdentity {
+  private final long magic;
+  private final Hash256 genesisHash;
+
+  /**
+   * Creates a chain identity.
+   *
+   * @param magic       network magic
+   * @param genesisHash hash of the genesis block
+   */
+  public ChainIdentity(long magic, Hash256 genesisHash) {
+    this.magic = magic;
+    this.genesisHash = genesisHash;
+  }
+
+  public long getMagic() {
+    return magic;
+  }
+
+  public Hash256 getGenesisHash() {
+    return genesisHash;
+  }
+}
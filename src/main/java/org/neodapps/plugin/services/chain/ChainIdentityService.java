@@ -0,0 +1,130 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.services.rpc.RpcClientRegistry;
+import org.neodapps.plugin.topics.NodeChangeNotifier;
+
+/**
+ * Caches the identity of the chain behind each node endpoint.
+ * The identity is resolved once, and again only after a connection to the node failed or the
+ * selected node changed.
+ */
+public class ChainIdentityService implements Disposable {
+  private final Project project;
+
+  // lookups of the identity by node endpoint, a failed lookup is removed
+  private final Map<String, CompletableFuture<ChainIdentity>> identities;
+
+  /**
+   * Creates the service.
+   *
+   * @param project intellij project
+   */
+  public ChainIdentityService(@NotNull Project project) {
+    this.project = project;
+    this.identities = new ConcurrentHashMap<>();
+
+    project.getMessageBus().connect(this).subscribe(NodeChangeNotifier.NODE_CHANGE,
+        new NodeChangeNotifier() {
+          @Override
+          public void nodeSelected(ChainLike selectedChain) {
+            identities.clear();
+          }
+
+          @Override
+          public void nodeDeselected() {
+            identities.clear();
+          }
+        });
+  }
+
+  /**
+   * Gets the identity of the chain of the selected node.
+   *
+   * @param chain chain to identify
+   * @return the chain identity
+   */
+  public ChainIdentity getIdentity(ChainLike chain) throws IOException {
+    return getIdentity(chain.getSelectedItem().getUrl());
+  }
+
+  /**
+   * Gets the identity of the chain a node runs.
+   *
+   * @param endpoint rpc url of the node
+   * @return the chain identity
+   */
+  public ChainIdentity getIdentity(String endpoint) throws IOException {
+    var lookup = new CompletableFuture<ChainIdentity>();
+    var existing = identities.putIfAbsent(endpoint, lookup);
+    if (existing == null) {
+      // resolved outside the map, concurrent callers of the endpoint wait for this lookup
+      try {
+        lookup.complete(resolve(endpoint));
+      } catch (IOException | RuntimeException e) {
+        // the next call asks the node again
+        identities.remove(endpoint, lookup);
+        lookup.completeExceptionally(e);
+      }
+      existing = lookup;
+    }
+    try {
+      return existing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      var cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private ChainIdentity resolve(String endpoint) throws IOException {
+    // ask the node, not the configuration of the chain
+    var neow3j = project.getService(RpcClientRegistry.class).getClient(endpoint, null);
+    var version = neow3j.getVersion().send();
+    if (version.hasError()) {
+      throw new IOException(version.getError().getMessage());
+    }
+    var genesis = neow3j.getBlockHash(BigInteger.ZERO).send();
+    if (genesis.hasError()) {
+      throw new IOException(genesis.getError().getMessage());
+    }
+    var protocol = version.getVersion().getProtocol();
+    return new ChainIdentity(protocol.getNetwork(), genesis.getBlockHash());
+  }
+
+  /**
+   * Drops the identity of a node, used when a connection to the node failed.
+   *
+   * @param endpoint rpc url of the node
+   */
+  public void invalidate(String endpoint) {
+    identities.remove(endpoint);
+  }
+
+  @Override
+  public void dispose() {
+    identities.clear();
+  }
+}
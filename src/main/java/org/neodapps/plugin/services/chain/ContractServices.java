@@ -8,15 +8,14 @@ package org.neodapps.plugin.services.chain;
 import static java.util.Collections.emptyList;
 
 import com.intellij.openapi.project.Project;
-import io.neow3j.protocol.Neow3jExpress;
 import io.neow3j.protocol.core.response.ExpressContractState;
-import io.neow3j.protocol.http.HttpService;
 import java.io.IOException;
 import java.util.List;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.services.rpc.RpcClientRegistry;
 
 /**
  * Represents various contract utility functions.
@@ -54,6 +53,10 @@ public class ContractServices {
    */
   public List<? extends ExpressContractState> getNativeContracts(ChainLike chain) {
     var neow3j = project.getService(UtilService.class).getNeow3jInstance(chain);
+    if (neow3j == null) {
+      // notified, exiting
+      return emptyList();
+    }
     try {
       return neow3j.getNativeContracts().send().getNativeContracts();
     } catch (IOException e) {
@@ -63,7 +66,7 @@ public class ContractServices {
   }
 
   private List<ExpressContractState> getContractFromExpressRpc(PrivateChain chain) {
-    var neow3j = Neow3jExpress.build(new HttpService(chain.getSelectedItem().getUrl()));
+    var neow3j = project.getService(RpcClientRegistry.class).getExpressClient(chain);
     List<ExpressContractState> contracts;
     try {
       contracts = neow3j.expressListContracts().send().getContracts();
@@ -0,0 +1,137 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import io.neow3j.crypto.ECKeyPair;
+import io.neow3j.script.VerificationScript;
+import io.neow3j.utils.Numeric;
+import io.neow3j.wallet.Account;
+import io.neow3j.wallet.Wallet;
+import io.neow3j.wallet.nep6.NEP6Account;
+import io.neow3j.wallet.nep6.NEP6Wallet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.blockchain.express.ExpressWallet;
+import org.neodapps.plugin.blockchain.express.ExpressWalletAccount;
+
+/**
+ * Keeps the wallets of neo-express configs, keyed by the hash of the config file content.
+ * Each wallet is kept in two forms, a NEP-6 wallet without keys to list its accounts and a
+ * wallet with its key pairs to sign with. Neither needs NEP-2 encryption, so the key derivation
+ * only runs when the config file changes.
+ */
+class ExpressWalletCache {
+  private final Map<Path, Entry> entries;
+
+  ExpressWalletCache() {
+    this.entries = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Gets the wallets of a private chain, derived again only if its config file changed.
+   *
+   * @param chain private chain
+   * @return wallets of the config
+   */
+  Entry get(PrivateChain chain) throws IOException {
+    var path = chain.getConfigFileLocation().toAbsolutePath();
+    var hash = hash(Files.readAllBytes(path));
+    var entry = entries.get(path);
+    if (entry != null && entry.hash.equals(hash)) {
+      return entry;
+    }
+    entry = new Entry(hash, chain.getConfig().getWallets());
+    entries.put(path, entry);
+    return entry;
+  }
+
+  private String hash(byte[] content) {
+    try {
+      return Numeric.toHexStringNoPrefix(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      // every java platform supports sha-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Represents the wallets of one version of a config file.
+   */
+  static class Entry {
+    private final String hash;
+    private final List<NEP6Wallet> wallets;
+    // signing wallets by the address of each of their accounts
+    private final Map<String, Wallet> signingWallets;
+
+    private Entry(String hash, List<ExpressWallet> expressWallets) {
+      this.hash = hash;
+      var nep6Wallets = new ArrayList<NEP6Wallet>();
+      this.signingWallets = new HashMap<>();
+      for (ExpressWallet expressWallet : expressWallets) {
+        var expressAccounts = expressWallet.getAccounts();
+        var accounts = new Account[expressAccounts.size()];
+        var watchOnlyAccounts = new Account[expressAccounts.size()];
+        for (int i = 0; i < expressAccounts.size(); i++) {
+          accounts[i] = getAccount(expressAccounts.get(i));
+          watchOnlyAccounts[i] = Account.fromVerificationScript(
+              new VerificationScript(accounts[i].getECKeyPair().getPublicKey()));
+        }
+        var signingWallet = Wallet.withAccounts(accounts).name(expressWallet.getName());
+        for (Account account : accounts) {
+          signingWallets.put(account.getAddress(), signingWallet);
+        }
+        // a nep-6 account without a key needs no encryption
+        nep6Wallets.add(Wallet.withAccounts(watchOnlyAccounts).name(expressWallet.getName())
+            .toNEP6Wallet());
+      }
+      this.wallets = Collections.unmodifiableList(nep6Wallets);
+    }
+
+    List<NEP6Wallet> getWallets() {
+      return wallets;
+    }
+
+    /**
+     * Gets the wallet with key pairs of a wallet.
+     * Wallets are matched by their accounts, an imported wallet can have the name of a wallet of
+     * the config.
+     *
+     * @param wallet wallet to sign with
+     * @return wallet ready to sign, null if the config has no wallet with the same accounts
+     */
+    Wallet getSigningWallet(NEP6Wallet wallet) {
+      var accounts = wallet.getAccounts();
+      if (accounts.isEmpty()) {
+        return null;
+      }
+      var signingWallet = signingWallets.get(accounts.get(0).getAddress());
+      if (signingWallet == null || signingWallet.getAccounts().size() != accounts.size()) {
+        return null;
+      }
+      for (NEP6Account account : accounts) {
+        if (signingWallets.get(account.getAddress()) != signingWallet) {
+          return null;
+        }
+      }
+      return signingWallet;
+    }
+
+    private static Account getAccount(ExpressWalletAccount expressWalletAccount) {
+      return new Account(
+          ECKeyPair.create(Numeric.hexStringToByteArray(expressWalletAccount.getPrivateKey())));
+    }
+  }
+}
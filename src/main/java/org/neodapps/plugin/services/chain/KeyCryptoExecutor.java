@@ -0,0 +1,126 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.neow3j.crypto.ScryptParams;
+import io.neow3j.crypto.exceptions.CipherException;
+import io.neow3j.crypto.exceptions.NEP2InvalidFormat;
+import io.neow3j.crypto.exceptions.NEP2InvalidPassphrase;
+import io.neow3j.wallet.Account;
+import io.neow3j.wallet.Wallet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.neodapps.plugin.NeoMessageBundle;
+
+/**
+ * Decrypts the NEP-2 keys of the accounts of a wallet in parallel.
+ * Each account costs one scrypt run, the accounts are spread over one pool sized to the cores
+ * that is shared by all projects.
+ * Progress is reported to the progress indicator of the calling thread, if there is one, and
+ * cancelling it stops the accounts that did not start yet.
+ */
+public class KeyCryptoExecutor {
+  private static final long POLL_MILLIS = 50;
+  // one pool for all the wallet services, so scrypt never runs on more threads than cores
+  private static final ExecutorService EXECUTOR =
+      AppExecutorUtil.createBoundedApplicationPoolExecutor("Neo Key Crypto",
+          Runtime.getRuntime().availableProcessors());
+
+  /**
+   * Decrypts the private keys of all the accounts of a wallet.
+   *
+   * @param wallet   wallet to decrypt
+   * @param password encryption password
+   */
+  public void decryptAllAccounts(Wallet wallet, String password)
+      throws CipherException, NEP2InvalidFormat, NEP2InvalidPassphrase {
+    var scryptParams = wallet.getScryptParams();
+    run(wallet, NeoMessageBundle.message("wallet.keys.decrypting", wallet.getName()),
+        account -> decrypt(account, password, scryptParams));
+  }
+
+  private void decrypt(Account account, String password, ScryptParams scryptParams)
+      throws CipherException, NEP2InvalidFormat, NEP2InvalidPassphrase {
+    if (account.getECKeyPair() != null) {
+      // already decrypted
+      return;
+    }
+    account.decryptPrivateKey(password, scryptParams);
+  }
+
+  private void run(Wallet wallet, String text, AccountTask task)
+      throws CipherException, NEP2InvalidFormat, NEP2InvalidPassphrase {
+    var accounts = wallet.getAccounts();
+    var indicator = ProgressManager.getInstance().getProgressIndicator();
+    if (indicator != null) {
+      indicator.setText(text);
+      indicator.setIndeterminate(false);
+      indicator.setFraction(0);
+    }
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (Account account : accounts) {
+      futures.add(EXECUTOR.submit(() -> {
+        task.run(account);
+        return null;
+      }));
+    }
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        waitFor(futures.get(i));
+        if (indicator != null) {
+          indicator.setFraction((double) (i + 1) / futures.size());
+        }
+      }
+    } finally {
+      // stops the accounts still queued when cancelled or failed
+      futures.forEach(future -> future.cancel(false));
+    }
+  }
+
+  private void waitFor(Future<?> future)
+      throws CipherException, NEP2InvalidFormat, NEP2InvalidPassphrase {
+    while (true) {
+      ProgressManager.checkCanceled();
+      try {
+        future.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        return;
+      } catch (TimeoutException e) {
+        // still running, check if cancelled
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CipherException(e);
+      } catch (ExecutionException e) {
+        var cause = e.getCause();
+        if (cause instanceof CipherException) {
+          throw (CipherException) cause;
+        } else if (cause instanceof NEP2InvalidFormat) {
+          throw (NEP2InvalidFormat) cause;
+        } else if (cause instanceof NEP2InvalidPassphrase) {
+          throw (NEP2InvalidPassphrase) cause;
+        } else if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new CipherException(cause);
+      }
+    }
+  }
+
+  /**
+   * Represents the work done for one account.
+   */
+  @FunctionalInterface
+  private interface AccountTask {
+    void run(Account account) throws CipherException, NEP2InvalidFormat, NEP2InvalidPassphrase;
+  }
+}
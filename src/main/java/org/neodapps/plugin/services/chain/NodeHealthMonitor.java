@@ -0,0 +1,141 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.blockchain.ConsensusNodeLike;
+import org.neodapps.plugin.blockchain.NodeHealth;
+import org.neodapps.plugin.persistance.SettingsState;
+import org.neodapps.plugin.services.rpc.EndpointSelector;
+import org.neodapps.plugin.topics.NodeHealthNotifier;
+
+/**
+ * Probes all the nodes of the applied chain in the background on a fixed interval.
+ * Nodes are probed in parallel, so nodes that are down cost one timeout per round instead of
+ * one per node. Results are published through {@link NodeHealthNotifier}.
+ */
+public class NodeHealthMonitor implements Disposable {
+  private final Project project;
+
+  private ChainLike chain;
+  private ScheduledFuture<?> schedule;
+  // set while a round of the monitored chain is waiting for nodes
+  private AtomicBoolean probing;
+  private List<NodeHealth> lastHealth;
+
+  /**
+   * Creates the monitor, it is started by the component showing the health of the applied
+   * chain. The service is created lazily, so it can not rely on node change events.
+   *
+   * @param project intellij project
+   */
+  public NodeHealthMonitor(@NotNull Project project) {
+    this.project = project;
+  }
+
+  /**
+   * Starts probing the nodes of a chain, replacing the chain monitored before.
+   *
+   * @param selectedChain chain to monitor
+   */
+  public synchronized void start(ChainLike selectedChain) {
+    stop();
+    chain = selectedChain;
+    var interval = Math.max(1, SettingsState.getInstance().nodeHealthInterval);
+    // a round is skipped while the previous one is still waiting for nodes
+    var roundProbing = new AtomicBoolean();
+    probing = roundProbing;
+    schedule = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(
+        () -> probe(selectedChain, roundProbing), 0, interval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Probes the nodes of the monitored chain now, without waiting for the next round.
+   * Nothing is probed again if a round is already waiting for the nodes.
+   *
+   * @param selectedChain monitored chain
+   */
+  public synchronized void probeNow(ChainLike selectedChain) {
+    if (selectedChain != chain || schedule == null) {
+      return;
+    }
+    var roundProbing = probing;
+    AppExecutorUtil.getAppExecutorService().execute(() -> probe(selectedChain, roundProbing));
+  }
+
+  /**
+   * Stops probing.
+   */
+  public synchronized void stop() {
+    if (schedule != null) {
+      schedule.cancel(false);
+      schedule = null;
+    }
+    chain = null;
+    probing = null;
+    lastHealth = null;
+  }
+
+  /**
+   * Gets the health found by the last probe of a chain.
+   *
+   * @param selectedChain monitored chain
+   * @return health of the nodes in the order of the nodes, null if not probed yet
+   */
+  public synchronized List<NodeHealth> getLastHealth(ChainLike selectedChain) {
+    return selectedChain == chain ? lastHealth : null;
+  }
+
+  private void probe(ChainLike selectedChain, AtomicBoolean probing) {
+    if (!probing.compareAndSet(false, true)) {
+      return;
+    }
+    var service = project.getService(BlockchainService.class);
+    var probes = new ArrayList<CompletableFuture<NodeHealth>>();
+    for (ConsensusNodeLike node : selectedChain.getNodes()) {
+      probes.add(CompletableFuture
+          .supplyAsync(() -> service.probeNode(selectedChain, node),
+              AppExecutorUtil.getAppExecutorService())
+          .exceptionally(error -> NodeHealth.notRunning()));
+    }
+    CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new))
+        .thenRun(() -> {
+          probing.set(false);
+          var health = new ArrayList<NodeHealth>();
+          probes.forEach(probe -> health.add(probe.join()));
+          publish(selectedChain, health);
+        });
+  }
+
+  private void publish(ChainLike selectedChain, List<NodeHealth> health) {
+    synchronized (this) {
+      if (selectedChain != chain || project.isDisposed()) {
+        // stopped or moved on to another chain while probing
+        return;
+      }
+      lastHealth = health;
+    }
+    // route rpc calls before listeners read the selected node
+    project.getService(EndpointSelector.class).update(selectedChain, health);
+    project.getMessageBus().syncPublisher(NodeHealthNotifier.NODE_HEALTH)
+        .healthChecked(selectedChain, health);
+  }
+
+  @Override
+  public void dispose() {
+    stop();
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.chain;
+
+import com.intellij.openapi.project.Project;
+import io.neow3j.contract.Token;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.types.Hash160;
+import io.neow3j.wallet.nep6.NEP6Wallet;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.persistance.TokenMetadataState;
+import org.neodapps.plugin.persistance.TokenMetadataState.TokenMetadata;
+
+/**
+ * Provides the metadata of NEP-17 tokens from a cache kept per chain.
+ * Symbol and decimals do not change unless the contract is updated, so they are read from the
+ * node once and stored across sessions with the update counter of the contract. When the balances
+ * are refreshed the counters are checked, the metadata of updated contracts is read again and only
+ * the total supply of the others.
+ */
+public class TokenMetadataService {
+  private final Project project;
+  // accounts whose held tokens were looked up in this session, by chain
+  private final Set<String> discovered;
+
+  public TokenMetadataService(@NotNull Project project) {
+    this.project = project;
+    this.discovered = new HashSet<>();
+  }
+
+  /**
+   * Gets the metadata of a token, reading it from the node if it is not cached.
+   *
+   * @param chain  chain of the token
+   * @param token  token contract hash
+   * @param neow3j client of the chain
+   * @return metadata of the token
+   */
+  public TokenMetadata getMetadata(ChainLike chain, Hash160 token, Neow3j neow3j)
+      throws IOException {
+    var cached = getCachedMetadata(chain, token);
+    if (cached != null) {
+      return cached;
+    }
+    // read without holding the lock, wallets are loaded in parallel
+    var updateCounter = getUpdateCounter(token, neow3j);
+    if (updateCounter == null) {
+      throw new IOException(String.format("Contract %s not found", token));
+    }
+    var metadata = read(token, neow3j, updateCounter);
+    var prefix = getPrefix(chain);
+    if (prefix != null) {
+      synchronized (this) {
+        TokenMetadataState.getInstance(project).tokens.put(prefix + token, metadata);
+      }
+    }
+    return metadata;
+  }
+
+  /**
+   * Reads the update counters of tokens, one getcontractstate each.
+   * Cached tokens whose contract no longer exists, like after a private net reset, are removed.
+   *
+   * @param chain  chain of the tokens
+   * @param tokens token contract hashes
+   * @param neow3j client of the chain
+   * @return update counter by token hash, without the tokens that no longer exist
+   */
+  public Map<Hash160, Integer> refresh(ChainLike chain, List<Hash160> tokens, Neow3j neow3j)
+      throws IOException {
+    Map<Hash160, Integer> updateCounters = new HashMap<>();
+    for (Hash160 token : tokens) {
+      var updateCounter = getUpdateCounter(token, neow3j);
+      if (updateCounter != null) {
+        updateCounters.put(token, updateCounter);
+      }
+    }
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return updateCounters;
+    }
+    synchronized (this) {
+      var cache = TokenMetadataState.getInstance(project).tokens;
+      for (Hash160 token : tokens) {
+        if (!updateCounters.containsKey(token)) {
+          cache.remove(prefix + token);
+        }
+      }
+    }
+    return updateCounters;
+  }
+
+  /**
+   * Checks if the cached metadata of a token was read from an older version of its contract.
+   *
+   * @param metadata      cached metadata
+   * @param updateCounter current update counter of the contract, null if not read
+   * @return true if the metadata should be read again
+   */
+  public static boolean isStale(TokenMetadata metadata, Integer updateCounter) {
+    return updateCounter != null && metadata.updateCounter != updateCounter;
+  }
+
+  /**
+   * Gets the cached tokens of a chain.
+   *
+   * @param chain chain of the tokens
+   * @return token hashes
+   */
+  public List<Hash160> getTokens(ChainLike chain) {
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return List.of();
+    }
+    synchronized (this) {
+      return TokenMetadataState.getInstance(project).tokens.keySet().stream()
+          .filter(key -> key.startsWith(prefix))
+          .map(key -> new Hash160(key.substring(prefix.length())))
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Gets the cached metadata of a token.
+   *
+   * @param chain chain of the token
+   * @param token token contract hash
+   * @return metadata, null if not cached
+   */
+  public TokenMetadata getCachedMetadata(ChainLike chain, Hash160 token) {
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return null;
+    }
+    synchronized (this) {
+      return TokenMetadataState.getInstance(project).tokens.get(prefix + token);
+    }
+  }
+
+  /**
+   * Stores metadata and total supplies read from the chain.
+   * Metadata is stored with the update counter read with it, or the known one if none was read.
+   *
+   * @param chain          chain of the tokens
+   * @param metadata       metadata by token hash
+   * @param totalSupplies  total supply by token hash, for tokens whose metadata is cached
+   * @param updateCounters update counter by token hash, as read by {@link #refresh}
+   */
+  public void update(ChainLike chain, Map<Hash160, TokenMetadata> metadata,
+                     Map<Hash160, BigInteger> totalSupplies,
+                     Map<Hash160, Integer> updateCounters) {
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return;
+    }
+    synchronized (this) {
+      var tokens = TokenMetadataState.getInstance(project).tokens;
+      metadata.forEach((token, read) -> {
+        var cached = tokens.get(prefix + token);
+        read.updateCounter = updateCounters.getOrDefault(token,
+            cached == null ? TokenMetadata.UNKNOWN : cached.updateCounter);
+        tokens.put(prefix + token, read);
+      });
+      totalSupplies.forEach((token, totalSupply) -> {
+        var cached = tokens.get(prefix + token);
+        if (cached != null) {
+          cached.totalSupply = totalSupply.toString();
+        }
+      });
+    }
+  }
+
+  /**
+   * Removes the cached tokens of a chain, they are looked up again on the next load.
+   *
+   * @param chain chain of the tokens
+   */
+  public void clear(ChainLike chain) {
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return;
+    }
+    synchronized (this) {
+      TokenMetadataState.getInstance(project).tokens.keySet()
+          .removeIf(key -> key.startsWith(prefix));
+      discovered.removeIf(key -> key.startsWith(prefix));
+    }
+  }
+
+  /**
+   * Checks if the tokens held by a wallet were looked up in this session.
+   *
+   * @param chain  chain of the tokens
+   * @param wallet wallet holding the tokens
+   * @return true if looked up for all the accounts of the wallet
+   */
+  public boolean isDiscovered(ChainLike chain, NEP6Wallet wallet) {
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return false;
+    }
+    synchronized (this) {
+      return wallet.getAccounts().stream()
+          .allMatch(account -> discovered.contains(prefix + account.getAddress()));
+    }
+  }
+
+  /**
+   * Marks the tokens held by a wallet as looked up.
+   *
+   * @param chain  chain of the tokens
+   * @param wallet wallet holding the tokens
+   */
+  public void setDiscovered(ChainLike chain, NEP6Wallet wallet) {
+    var prefix = getPrefix(chain);
+    if (prefix == null) {
+      return;
+    }
+    synchronized (this) {
+      wallet.getAccounts().forEach(account -> discovered.add(prefix + account.getAddress()));
+    }
+  }
+
+  /**
+   * Gets the total supply of a token as cached.
+   *
+   * @param metadata metadata of the token
+   * @return total supply, null if unknown
+   */
+  public static BigInteger getTotalSupply(TokenMetadata metadata) {
+    return metadata.totalSupply == null ? null : new BigInteger(metadata.totalSupply);
+  }
+
+  private TokenMetadata read(Hash160 hash, Neow3j neow3j, int updateCounter)
+      throws IOException {
+    var token = new Token(hash, neow3j);
+    return new TokenMetadata(updateCounter, token.getSymbol(), token.getDecimals(),
+        token.getTotalSupply().toString());
+  }
+
+  private Integer getUpdateCounter(Hash160 token, Neow3j neow3j) throws IOException {
+    var response = neow3j.getContractState(token).send();
+    if (response.hasError()) {
+      // unknown contract
+      return null;
+    }
+    return response.getContractState().getUpdateCounter();
+  }
+
+  // may read the magic from the node, so it is called before taking the lock
+  private String getPrefix(ChainLike chain) {
+    var magic = project.getService(UtilService.class).getMagicNumber(chain);
+    if (magic == null) {
+      // network unknown, nothing is cached rather than mixing networks
+      return null;
+    }
+    return String.format("%d:", magic);
+  }
+}
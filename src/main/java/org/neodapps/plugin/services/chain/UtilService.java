@@ -7,15 +7,12 @@ package org.neodapps.plugin.services.chain;
 
 import com.intellij.openapi.project.Project;
 import io.neow3j.protocol.Neow3j;
-import io.neow3j.protocol.Neow3jConfig;
-import io.neow3j.protocol.http.HttpService;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.services.rpc.RpcClientRegistry;
 
 /**
  * A util service for functions that doesn't belong to other service.
@@ -29,46 +26,32 @@ public class UtilService {
   }
 
   /**
-   * Creates the neow3j instance.
+   * Returns the neow3j instance of the selected node.
+   * Instances are shared through the {@link RpcClientRegistry}, so connections are reused.
    *
    * @param chain selected chain
    * @return neow3j instance
    */
   public Neow3j getNeow3jInstance(ChainLike chain) {
-    var endpoint = chain.getSelectedItem().getUrl();
-    Neow3j neow3j;
-    if (chain.getType().equals(BlockChainType.PRIVATE)) {
-      // set magic number
-      Neow3jConfig config = new Neow3jConfig();
-      config.setNetworkMagic(((PrivateChain) chain).getConfig().getMagic());
-      neow3j = Neow3j.build(new HttpService(endpoint), config);
-    } else {
-      neow3j = Neow3j.build(new HttpService(endpoint));
-    }
-    return neow3j;
+    return project.getService(RpcClientRegistry.class).getClient(chain);
   }
 
   /**
    * Gets the magic number of a chain.
+   * The magic of a public chain is resolved once per node, see {@link ChainIdentityService}.
    *
    * @param chain chain to get the magic number of
-   * @return returns the magic number
+   * @return returns the magic number, null if the network of the node can not be resolved
    */
   public Long getMagicNumber(ChainLike chain) {
     if (chain.getType().equals(BlockChainType.PRIVATE)) {
       return ((PrivateChain) chain).getConfig().getMagic();
     }
-    var neow3j = getNeow3jInstance(chain);
-    if (neow3j == null) {
-      return 0L;
-    }
     try {
-      return Integer.toUnsignedLong(
-          ByteBuffer.wrap(neow3j.getNetworkMagicNumberBytes()).order(ByteOrder.LITTLE_ENDIAN)
-              .getInt());
+      return project.getService(ChainIdentityService.class).getIdentity(chain).getMagic();
     } catch (IOException e) {
       NeoNotifier.notifyError(project, e.getMessage());
-      return 0L;
+      return null;
     }
   }
 }
@@ -6,13 +6,11 @@
 package org.neodapps.plugin.services.chain;
 
 import com.intellij.openapi.project.Project;
-import io.neow3j.crypto.ECKeyPair;
 import io.neow3j.crypto.exceptions.CipherException;
 import io.neow3j.crypto.exceptions.NEP2InvalidFormat;
 import io.neow3j.crypto.exceptions.NEP2InvalidPassphrase;
-import io.neow3j.utils.Numeric;
-import io.neow3j.wallet.Account;
 import io.neow3j.wallet.Wallet;
+import io.neow3j.wallet.nep6.NEP6Account;
 import io.neow3j.wallet.nep6.NEP6Wallet;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -20,14 +18,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.Chain;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.blockchain.PrivateChain;
-import org.neodapps.plugin.blockchain.express.ExpressWallet;
-import org.neodapps.plugin.blockchain.express.ExpressWalletAccount;
 
 /**
  * Represents various wallet utility services.
@@ -47,10 +44,16 @@ public class WalletService {
 
   // a list of wallets maintained throughout project session
   private final Map<Long, List<NEP6Wallet>> importedWallets;
+  // wallets of the neo-express configs, derived once per config version
+  private final ExpressWalletCache expressWallets;
+  // runs the scrypt of the accounts of a wallet in parallel
+  private final KeyCryptoExecutor keyCrypto;
 
   public WalletService(@NotNull Project project) {
     this.project = project;
     this.importedWallets = new HashMap<>();
+    this.expressWallets = new ExpressWalletCache();
+    this.keyCrypto = new KeyCryptoExecutor();
   }
 
   /**
@@ -79,75 +82,68 @@ public class WalletService {
           .name(name).toNEP6Wallet();
       var wallets = getWallets(chain);
       wallets.add(wallet);
+      project.getService(AddressBookService.class).addWallet(chain, name,
+          wallet.getAccounts().stream().map(NEP6Account::getAddress)
+              .collect(Collectors.toList()));
     } catch (IOException e) {
       NeoNotifier.notifyError(project, e.getMessage());
     }
   }
 
   /**
-   * Encrypts a neow3j wallet with a default password.
+   * Decrypts a neow3j wallet with a default password, the accounts are decrypted in parallel.
    *
    * @param wallet wallet to encrypt
    */
-  public void encryptWalletWithDefaultPassword(Wallet wallet) {
+  public void decryptWalletWithDefaultPassword(Wallet wallet) {
     try {
-      wallet.encryptAllAccounts(WALLET_DEFAULT_ENCRYPTION_PASSWORD);
-    } catch (CipherException e) {
+      keyCrypto.decryptAllAccounts(wallet, WALLET_DEFAULT_ENCRYPTION_PASSWORD);
+    } catch (CipherException | NEP2InvalidPassphrase | NEP2InvalidFormat e) {
       NeoNotifier.notifyError(project, e.getMessage());
     }
   }
 
   /**
-   * Decrypts a neow3j wallet with a default password.
+   * Gets a wallet that can sign transactions.
+   * Wallets of a neo-express config come from the cache with their keys, other wallets are
+   * decrypted with the default password.
    *
-   * @param wallet wallet to encrypt
+   * @param nep6Wallet wallet to sign with
+   * @param chain      chain of the wallet
+   * @return wallet with decrypted accounts
    */
-  public void decryptWalletWithDefaultPassword(Wallet wallet) {
-    try {
-      wallet.decryptAllAccounts(WALLET_DEFAULT_ENCRYPTION_PASSWORD);
-    } catch (CipherException | NEP2InvalidPassphrase | NEP2InvalidFormat e) {
-      NeoNotifier.notifyError(project, e.getMessage());
+  public Wallet getSigningWallet(NEP6Wallet nep6Wallet, ChainLike chain) {
+    if (chain.getType().equals(BlockChainType.PRIVATE)) {
+      try {
+        var cached = expressWallets.get((PrivateChain) chain).getSigningWallet(nep6Wallet);
+        if (cached != null) {
+          return cached;
+        }
+      } catch (IOException e) {
+        NeoNotifier.notifyError(project, e.getMessage());
+      }
     }
+    var wallet = Wallet.fromNEP6Wallet(nep6Wallet);
+    decryptWalletWithDefaultPassword(wallet);
+    return wallet;
   }
 
   private List<NEP6Wallet> getWalletForPrivateChain(PrivateChain chain) {
-    var wallets = new ArrayList<NEP6Wallet>();
-    for (ExpressWallet expressWallet : chain.getConfig().getWallets()) {
-      var wallet = getNeo3jWallet(expressWallet);
-      encryptWalletWithDefaultPassword(wallet);
-      wallets.add(wallet.toNEP6Wallet());
+    try {
+      // derived once per version of the config file
+      return new ArrayList<>(expressWallets.get(chain).getWallets());
+    } catch (IOException e) {
+      NeoNotifier.notifyError(project, e.getMessage());
+      return new ArrayList<>();
     }
-    return wallets;
   }
 
   private List<NEP6Wallet> getImportedWallets(Chain chain) {
     var magicNumber = project.getService(UtilService.class).getMagicNumber(chain);
-    return importedWallets.computeIfAbsent(magicNumber, k -> new ArrayList<>());
-  }
-
-  /**
-   * Creates neo3j wallet account from express wallet account.
-   *
-   * @param expressWalletAccount express wallet account
-   * @return neo3j wallet account
-   */
-  private Account getNeo3jWalletAccount(ExpressWalletAccount expressWalletAccount) {
-    return new Account(
-        ECKeyPair.create(Numeric.hexStringToByteArray(expressWalletAccount.getPrivateKey())));
-  }
-
-  /**
-   * Creates neo3j wallet from express wallet.
-   *
-   * @param expressWallet express wallet
-   * @return neo3j wallet
-   */
-  private Wallet getNeo3jWallet(ExpressWallet expressWallet) {
-    var expressAccounts = expressWallet.getAccounts();
-    var neo3jAccounts = new Account[expressAccounts.size()];
-    for (int i = 0; i < expressAccounts.size(); i++) {
-      neo3jAccounts[i] = getNeo3jWalletAccount(expressAccounts.get(i));
+    if (magicNumber == null) {
+      // network unknown, notified
+      return new ArrayList<>();
     }
-    return Wallet.withAccounts(neo3jAccounts).name(expressWallet.getName());
+    return importedWallets.computeIfAbsent(magicNumber, k -> new ArrayList<>());
   }
 }
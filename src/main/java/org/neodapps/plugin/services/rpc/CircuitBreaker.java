@@ -0,0 +1,66 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+/**
+ * Represents the circuit breaker of an endpoint.
+ * After a number of failed calls in a row the breaker opens and calls fail at once, without
+ * waiting for the endpoint. Once the open time has passed one call is let through as a trial;
+ * the breaker closes if it succeeds and opens again if it fails.
+ */
+class CircuitBreaker {
+  private int failures;
+  private long openUntil;
+  private boolean trial;
+
+  /**
+   * Checks if a call may be sent to the endpoint.
+   *
+   * @return true if the call may be sent, false to fail it at once
+   */
+  synchronized boolean allowRequest() {
+    if (openUntil == 0) {
+      return true;
+    }
+    if (System.currentTimeMillis() < openUntil || trial) {
+      return false;
+    }
+    // open time has passed, let one call through
+    trial = true;
+    return true;
+  }
+
+  /**
+   * Records a successful call, the breaker closes.
+   */
+  synchronized void recordSuccess() {
+    failures = 0;
+    openUntil = 0;
+    trial = false;
+  }
+
+  /**
+   * Records a failed call.
+   *
+   * @param threshold  failures in a row that open the breaker
+   * @param openMillis time the breaker stays open
+   */
+  synchronized void recordFailure(int threshold, long openMillis) {
+    failures++;
+    if (trial || failures >= threshold) {
+      openUntil = System.currentTimeMillis() + openMillis;
+      trial = false;
+    }
+  }
+
+  /**
+   * Records a call that ended without an answer from the endpoint, like a cancelled call.
+   * A trial call that ended this way is let through again.
+   */
+  synchronized void recordIgnored() {
+    trial = false;
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.neodapps.plugin.blockchain.BlockChainType;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.blockchain.NodeHealth;
+import org.neodapps.plugin.persistance.SettingsState;
+import org.neodapps.plugin.services.chain.ChainListService;
+
+/**
+ * Picks the endpoint rpc calls of a public chain are sent to.
+ * The fastest seed that is not behind the others is used, based on the results of the
+ * {@link org.neodapps.plugin.services.chain.NodeHealthMonitor}. A seed that stops answering is
+ * skipped until it is found healthy again.
+ * Private chains, and the seeds of public chains when automatic selection is turned off, are
+ * used as selected. A seed the user picks by hand is kept, only a seed that is down is skipped.
+ * Calls of public chains are also routed when only hedging is turned on, the seeds are then
+ * ranked for the hedged reads but the selected seed is neither skipped nor switched.
+ * The selected seed is switched on the event dispatch thread and applied like a pick in the node
+ * picker, so the clients, the block feed and the views move to it together.
+ */
+public class EndpointSelector {
+  // blocks a seed can be behind the highest seed and still be used
+  private static final long MAX_HEIGHT_LAG = 2;
+  // the current seed is only replaced by a seed that is clearly faster
+  private static final double SWITCH_RATIO = 0.7;
+  private static final long DOWN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final Project project;
+  // seeds that stopped answering, until when they are skipped
+  private final Map<String, Long> downUntil;
+  // chains whose seed was picked by hand
+  private final Set<ChainLike> pinned;
+  // usable seeds of the last health check, fastest first
+  private volatile List<String> ranked;
+
+  /**
+   * Creates the selector.
+   *
+   * @param project intellij project
+   */
+  public EndpointSelector(Project project) {
+    this.project = project;
+    this.downUntil = new ConcurrentHashMap<>();
+    this.pinned = ConcurrentHashMap.newKeySet();
+    this.ranked = List.of();
+  }
+
+  /**
+   * Checks if rpc calls of a chain are routed by the selector.
+   *
+   * @param chain chain to check
+   * @return true if the endpoint is picked automatically or reads are hedged
+   */
+  public boolean isRouted(ChainLike chain) {
+    var settings = SettingsState.getInstance();
+    return !chain.getType().equals(BlockChainType.PRIVATE)
+        && (settings.autoSelectSeed || settings.hedgeRequests);
+  }
+
+  /**
+   * Keeps the selected seed of a chain, or lets the selector pick it again.
+   *
+   * @param chain chain the seed was picked for
+   * @param pin   true if the user picked the seed
+   */
+  public void setPinned(ChainLike chain, boolean pin) {
+    if (pin) {
+      pinned.add(chain);
+    } else {
+      pinned.remove(chain);
+    }
+  }
+
+  /**
+   * Gets the endpoint the next rpc call of a chain should be sent to.
+   *
+   * @param chain chain of the call
+   * @return rpc url of the endpoint
+   */
+  public String getEndpoint(ChainLike chain) {
+    var selected = chain.getSelectedItem().getUrl();
+    if (!isAutoSelected(chain) || !isDown(selected)) {
+      return selected;
+    }
+    // selected seed is down, send this call to the next one that is not
+    // the selected seed is only switched by a health check
+    var nodes = chain.getNodes();
+    for (int i = 1; i < nodes.size(); i++) {
+      var url = nodes.get((chain.getSelectedIndex() + i) % nodes.size()).getUrl();
+      if (!isDown(url)) {
+        return url;
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Gets a second endpoint to send a hedged read to.
+   *
+   * @param chain    chain of the call
+   * @param endpoint endpoint the read is sent to first
+   * @return the fastest other usable endpoint, null if there is none
+   */
+  public String getHedgeEndpoint(ChainLike chain, String endpoint) {
+    if (!isRouted(chain)) {
+      return null;
+    }
+    return ranked.stream()
+        .filter(url -> !url.equals(endpoint) && !isDown(url))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Marks an endpoint as down after it did not answer.
+   *
+   * @param endpoint rpc url of the endpoint
+   */
+  public void markDown(String endpoint) {
+    downUntil.put(endpoint, System.currentTimeMillis() + DOWN_MILLIS);
+  }
+
+  /**
+   * Updates the seed in use from the results of a health check.
+   *
+   * @param chain  probed chain
+   * @param health health of the nodes in the order of the nodes
+   */
+  public void update(ChainLike chain, List<NodeHealth> health) {
+    var nodes = chain.getNodes();
+    for (int i = 0; i < health.size(); i++) {
+      var url = nodes.get(i).getUrl();
+      if (health.get(i).isRunning()) {
+        downUntil.remove(url);
+      } else {
+        markDown(url);
+      }
+    }
+    if (!isRouted(chain)) {
+      return;
+    }
+
+    var maxHeight = health.stream().mapToLong(NodeHealth::getHeight).max().orElse(0);
+    ranked = IntStream.range(0, health.size())
+        .filter(i -> isUsable(health.get(i), maxHeight))
+        .boxed()
+        .sorted(Comparator.comparingLong(i -> health.get(i).getLatency()))
+        .map(i -> nodes.get(i).getUrl())
+        .collect(Collectors.toList());
+    if (!isAutoSelected(chain)) {
+      // ranked for hedging only
+      return;
+    }
+
+    var best = -1;
+    for (int i = 0; i < health.size(); i++) {
+      if (isUsable(health.get(i), maxHeight)
+          && (best < 0 || health.get(i).getLatency() < health.get(best).getLatency())) {
+        best = i;
+      }
+    }
+    if (best < 0) {
+      // no seed is healthy, keep the current one
+      return;
+    }
+    var current = chain.getSelectedIndex();
+    if (!isUsable(health.get(current), maxHeight)
+        || (!pinned.contains(chain)
+        && health.get(best).getLatency() < health.get(current).getLatency() * SWITCH_RATIO)) {
+      switchSeed(chain, current, best);
+    }
+  }
+
+  private void switchSeed(ChainLike chain, int from, int to) {
+    ApplicationManager.getApplication().invokeLater(() -> {
+      var chains = project.getService(ChainListService.class);
+      if (chains.getAppliedChain().orElse(null) != chain || chain.getSelectedIndex() != from) {
+        // another chain or seed was applied meanwhile
+        return;
+      }
+      chain.setSelectedIndex(to);
+      chains.setAppliedChain(chain);
+    }, project.getDisposed());
+  }
+
+  private boolean isAutoSelected(ChainLike chain) {
+    return !chain.getType().equals(BlockChainType.PRIVATE)
+        && SettingsState.getInstance().autoSelectSeed;
+  }
+
+  private boolean isDown(String endpoint) {
+    var until = downUntil.get(endpoint);
+    return until != null && until > System.currentTimeMillis();
+  }
+
+  private boolean isUsable(NodeHealth health, long maxHeight) {
+    return health.isRunning() && health.getHeight() >= maxHeight - MAX_HEIGHT_LAG;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a histogram of latencies with log-scaled buckets.
+ * Each power of two is split in 32 buckets, so a percentile is within about 3% of the recorded
+ * value. Recording only increments one bucket and never locks, percentiles are read from the
+ * buckets as they are.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // latencies are kept in microseconds, up to an hour
+  private static final long MAX_VALUE = TimeUnit.HOURS.toMicros(1);
+  private static final int BUCKETS = getIndex(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts;
+
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKETS);
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos latency in nanoseconds
+   */
+  public void record(long nanos) {
+    var micros = Math.min(MAX_VALUE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    counts.incrementAndGet(getIndex(micros));
+  }
+
+  /**
+   * Gets the number of recorded latencies.
+   *
+   * @return count
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Gets a percentile of the recorded latencies.
+   *
+   * @param percentile percentile between 0 and 1
+   * @return latency in microseconds, 0 if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    // copy the buckets once, calls recorded meanwhile are left out
+    var snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    var rank = Math.max(1, (long) Math.ceil(percentile * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return getValue(i);
+      }
+    }
+    return getValue(BUCKETS - 1);
+  }
+
+  private static int getIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    // keep the highest bits of the value, the lower bits only matter for small values
+    var shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    var subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long getValue(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    var shift = index / SUB_BUCKETS - 1;
+    var subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+    // middle of the bucket
+    return ((long) subBucket << shift) + ((1L << shift) >> 1);
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the latest latencies of each rpc method to estimate its percentiles.
+ */
+public class LatencyTracker {
+  private static final int SAMPLES = 128;
+
+  private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+  /**
+   * Records the latency of a call.
+   *
+   * @param method  rpc method
+   * @param latency latency in milliseconds
+   */
+  public void record(String method, long latency) {
+    samples.computeIfAbsent(method, m -> new Samples()).add(latency);
+  }
+
+  /**
+   * Estimates a percentile of the latency of a method.
+   *
+   * @param method       rpc method
+   * @param percentile   percentile between 0 and 1
+   * @param defaultValue value used until enough calls were recorded
+   * @return latency in milliseconds
+   */
+  public long getPercentile(String method, double percentile, long defaultValue) {
+    var methodSamples = samples.get(method);
+    if (methodSamples == null) {
+      return defaultValue;
+    }
+    return methodSamples.percentile(percentile, defaultValue);
+  }
+
+  private static class Samples {
+    // fewer samples than this give no useful tail estimate
+    private static final int MIN_SAMPLES = 10;
+
+    private final long[] values = new long[SAMPLES];
+    private int next;
+    private int count;
+
+    private synchronized void add(long value) {
+      values[next] = value;
+      next = (next + 1) % SAMPLES;
+      count = Math.min(count + 1, SAMPLES);
+    }
+
+    private synchronized long percentile(double percentile, long defaultValue) {
+      if (count < MIN_SAMPLES) {
+        return defaultValue;
+      }
+      var sorted = Arrays.copyOf(values, count);
+      Arrays.sort(sorted);
+      return sorted[(int) Math.min(count - 1, Math.round(percentile * (count - 1)))];
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.NeoMessageBundle;
+import org.neodapps.plugin.persistance.SettingsState;
+
+/**
+ * Adds timeouts, retries and a circuit breaker per endpoint to the rpc calls.
+ * Each attempt of a call has the timeout set in the settings. Reads that fail are sent again a
+ * bounded number of times, with a random back off so clients do not retry in step. Calls to an
+ * endpoint that failed a number of times in a row fail at once until the open time has passed.
+ */
+class ResilienceInterceptor implements Interceptor {
+  private static final long BACKOFF_MILLIS = 200;
+  private static final long MAX_BACKOFF_MILLIS = 2000;
+
+  private final Map<String, CircuitBreaker> breakers;
+
+  ResilienceInterceptor() {
+    this.breakers = new ConcurrentHashMap<>();
+  }
+
+  @NotNull
+  @Override
+  public Response intercept(@NotNull Chain chain) throws IOException {
+    var settings = SettingsState.getInstance();
+    var request = chain.request();
+    var endpoint = getEndpoint(request.url());
+    var breaker = breakers.computeIfAbsent(endpoint, e -> new CircuitBreaker());
+    var timeout = Math.max(1, settings.rpcTimeout);
+    var threshold = Math.max(1, settings.rpcCircuitFailures);
+    var openMillis = TimeUnit.SECONDS.toMillis(Math.max(1, settings.rpcCircuitOpenTime));
+    // a call that changes state is only sent once, the node may have taken it already
+    var attempts = RpcMethods.isIdempotent(RpcMethods.getMethod(request))
+        ? 1 + Math.max(0, settings.rpcRetries) : 1;
+
+    IOException failure = null;
+    for (int attempt = 0; attempt < attempts; attempt++) {
+      if (attempt > 0) {
+        backOff(attempt);
+      }
+      if (!breaker.allowRequest()) {
+        var open = new CircuitOpenException(
+            NeoMessageBundle.message("rpc.circuit.open", endpoint));
+        if (failure != null) {
+          open.addSuppressed(failure);
+        }
+        throw open;
+      }
+
+      try {
+        var response = chain
+            .withConnectTimeout(timeout, TimeUnit.MILLISECONDS)
+            .withReadTimeout(timeout, TimeUnit.MILLISECONDS)
+            .withWriteTimeout(timeout, TimeUnit.MILLISECONDS)
+            .proceed(request);
+        if (response.code() < 500) {
+          breaker.recordSuccess();
+          return response;
+        }
+        breaker.recordFailure(threshold, openMillis);
+        if (attempt == attempts - 1) {
+          // out of attempts, the caller reports the error response
+          return response;
+        }
+        response.close();
+        failure = new IOException(String.format("Invalid response received: %d", response.code()));
+      } catch (IOException e) {
+        if (chain.call().isCanceled() || Thread.currentThread().isInterrupted()) {
+          // given up by the caller, says nothing about the endpoint
+          breaker.recordIgnored();
+          throw e;
+        }
+        breaker.recordFailure(threshold, openMillis);
+        failure = e;
+      }
+    }
+    throw failure;
+  }
+
+  /**
+   * Closes the breakers, calls are sent to every endpoint again.
+   */
+  void reset() {
+    breakers.clear();
+  }
+
+  private void backOff(int attempt) throws InterruptedIOException {
+    // full jitter, a random wait up to the exponential back off
+    var cap = Math.min(MAX_BACKOFF_MILLIS, BACKOFF_MILLIS << (attempt - 1));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    }
+  }
+
+  private String getEndpoint(HttpUrl url) {
+    return url.host() + ":" + url.port();
+  }
+
+  /**
+   * Represents a call failed at once because the circuit breaker of its endpoint is open.
+   */
+  static class CircuitOpenException extends IOException {
+    CircuitOpenException(String message) {
+      super(message);
+    }
+  }
+}
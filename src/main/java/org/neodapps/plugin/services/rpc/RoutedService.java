@@ -0,0 +1,192 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.neow3j.protocol.Service;
+import io.neow3j.protocol.exceptions.ClientConnectionException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.persistance.SettingsState;
+
+/**
+ * Represents an rpc service that sends each request to the endpoint the
+ * {@link EndpointSelector} picks for a chain.
+ * If the endpoint does not answer it is marked as down and a read is sent once more to the next
+ * endpoint, writes like sendrawtransaction are not sent again.
+ * With hedging turned on, a read that has not answered within the usual latency of its method
+ * is also sent to a second seed. The first answer is used and the other call is cancelled.
+ */
+public class RoutedService extends Service {
+  private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json");
+  private static final double HEDGE_PERCENTILE = 0.95;
+  private static final long DEFAULT_HEDGE_DELAY = 500;
+  private static final long MIN_HEDGE_DELAY = 20;
+
+  private final ChainLike chain;
+  private final EndpointSelector selector;
+  private final OkHttpClient httpClient;
+  private final LatencyTracker latencies;
+
+  /**
+   * Creates the routed service of a chain.
+   *
+   * @param chain      chain to route requests of
+   * @param selector   picks the endpoint of each request
+   * @param httpClient http client shared by the endpoints
+   */
+  public RoutedService(ChainLike chain, EndpointSelector selector, OkHttpClient httpClient) {
+    super(false);
+    this.chain = chain;
+    this.selector = selector;
+    this.httpClient = httpClient;
+    this.latencies = new LatencyTracker();
+  }
+
+  @Override
+  protected InputStream performIO(String payload) throws IOException {
+    var method = RpcMethods.getMethod(payload);
+    var endpoint = selector.getEndpoint(chain);
+    // only reads are hedged, sending a call twice must not change anything
+    if (SettingsState.getInstance().hedgeRequests && RpcMethods.isIdempotent(method)) {
+      var hedgeEndpoint = selector.getHedgeEndpoint(chain, endpoint);
+      if (hedgeEndpoint != null) {
+        return new ByteArrayInputStream(sendHedged(method, payload, endpoint, hedgeEndpoint));
+      }
+    }
+
+    try {
+      return new ByteArrayInputStream(send(method, newCall(endpoint, payload)));
+    } catch (IOException e) {
+      selector.markDown(endpoint);
+      if (!RpcMethods.isIdempotent(method)) {
+        // a timeout does not mean the node did not get the call, a write is not sent twice
+        throw e;
+      }
+      // fail over to the next endpoint
+      var fallback = selector.getEndpoint(chain);
+      if (fallback.equals(endpoint)) {
+        throw e;
+      }
+      return new ByteArrayInputStream(send(method, newCall(fallback, payload)));
+    }
+  }
+
+  @Override
+  public void close() {
+    // connections belong to the shared http client
+  }
+
+  private byte[] sendHedged(String method, String payload, String endpoint,
+                            String hedgeEndpoint) throws IOException {
+    var delay = Math.max(MIN_HEDGE_DELAY,
+        latencies.getPercentile(method, HEDGE_PERCENTILE, DEFAULT_HEDGE_DELAY));
+    var call = newCall(endpoint, payload);
+    var result = sendAsync(method, call);
+    try {
+      return result.get(delay, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // slower than usual, send the same read to the second seed
+    } catch (ExecutionException e) {
+      // failed before the hedge was due, the second seed answers instead
+      selector.markDown(endpoint);
+      return send(method, newCall(hedgeEndpoint, payload));
+    } catch (InterruptedException e) {
+      call.cancel();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    }
+
+    var hedgeCall = newCall(hedgeEndpoint, payload);
+    var hedgeResult = sendAsync(method, hedgeCall);
+    try {
+      return firstSuccessful(result, hedgeResult).get();
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    } finally {
+      // cancel the loser, cancelling a finished call does nothing
+      call.cancel();
+      hedgeCall.cancel();
+    }
+  }
+
+  private CompletableFuture<byte[]> sendAsync(String method, Call call) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return send(method, call);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, AppExecutorUtil.getAppExecutorService());
+  }
+
+  private CompletableFuture<byte[]> firstSuccessful(CompletableFuture<byte[]> first,
+                                                    CompletableFuture<byte[]> second) {
+    var winner = new CompletableFuture<byte[]>();
+    var failures = new AtomicInteger();
+    for (CompletableFuture<byte[]> future : List.of(first, second)) {
+      future.whenComplete((body, error) -> {
+        if (error == null) {
+          winner.complete(body);
+        } else if (failures.incrementAndGet() == 2) {
+          // both failed, report the last error
+          winner.completeExceptionally(error);
+        }
+      });
+    }
+    return winner;
+  }
+
+  private byte[] send(String method, Call call) throws IOException {
+    var start = System.nanoTime();
+    try (var response = call.execute()) {
+      var body = response.body();
+      if (!response.isSuccessful()) {
+        throw new ClientConnectionException(String.format("Invalid response received: %d; %s",
+            response.code(), body == null ? "N/A" : body.string()));
+      }
+      var bytes = body == null ? new byte[0] : body.bytes();
+      latencies.record(method, (System.nanoTime() - start) / 1_000_000);
+      return bytes;
+    }
+  }
+
+  private Call newCall(String endpoint, String payload) {
+    var request = new Request.Builder()
+        .url(endpoint)
+        .post(RequestBody.create(payload, JSON_MEDIA_TYPE))
+        .build();
+    return httpClient.newCall(request);
+  }
+
+  private IOException unwrap(ExecutionException e) {
+    var cause = e.getCause();
+    while (cause instanceof UncheckedIOException
+        || cause instanceof CompletionException) {
+      cause = cause.getCause();
+    }
+    return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+  }
+}
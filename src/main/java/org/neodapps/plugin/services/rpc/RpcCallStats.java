@@ -0,0 +1,42 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the recorded rpc calls of a method or of a node.
+ */
+class RpcCallStats {
+  private final String name;
+  private final LatencyHistogram latencies;
+  private final LongAdder calls;
+  private final LongAdder errors;
+  private final LongAdder bytes;
+
+  RpcCallStats(String name) {
+    this.name = name;
+    this.latencies = new LatencyHistogram();
+    this.calls = new LongAdder();
+    this.errors = new LongAdder();
+    this.bytes = new LongAdder();
+  }
+
+  void record(long nanos, long size, boolean success) {
+    latencies.record(nanos);
+    calls.increment();
+    bytes.add(size);
+    if (!success) {
+      errors.increment();
+    }
+  }
+
+  RpcStats snapshot() {
+    return new RpcStats(name, calls.sum(), errors.sum(), bytes.sum(),
+        latencies.getPercentile(0.5), latencies.getPercentile(0.95),
+        latencies.getPercentile(0.99));
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.Neow3jConfig;
+import io.neow3j.protocol.Neow3jExpress;
+import io.neow3j.protocol.http.HttpService;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.jetbrains.annotations.NotNull;
+import org.neodapps.plugin.blockchain.BlockChainType;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.topics.NodeChangeNotifier;
+
+/**
+ * Keeps the rpc clients of the project, keyed by endpoint and network magic.
+ * All clients share one http client, so connections to a node are kept alive and reused.
+ * Calls get the timeouts, retries and circuit breakers of {@link ResilienceInterceptor} and are
+ * recorded by the {@link RpcMetricsService}.
+ * Clients are dropped when the selected node changes and the connections are closed when the
+ * project is closed.
+ */
+public class RpcClientRegistry implements Disposable {
+  private static final int MAX_IDLE_CONNECTIONS = 5;
+  private static final long KEEP_ALIVE_MINUTES = 5;
+  // requests in flight per node, caps the concurrency of everything sent to it
+  public static final int MAX_REQUESTS_PER_HOST = 8;
+
+  private final Project project;
+  private final OkHttpClient httpClient;
+  private final Map<String, Neow3j> clients;
+  private final Map<String, Neow3jExpress> expressClients;
+  // limits the requests in flight per host, neow3j sends requests synchronously
+  private final Map<String, Semaphore> hostLimits;
+  private final ResilienceInterceptor resilience;
+  private final RpcMetricsService metrics;
+
+  /**
+   * Creates the registry.
+   *
+   * @param project intellij project
+   */
+  public RpcClientRegistry(@NotNull Project project) {
+    this.project = project;
+    this.clients = new ConcurrentHashMap<>();
+    this.expressClients = new ConcurrentHashMap<>();
+    this.hostLimits = new ConcurrentHashMap<>();
+    this.resilience = new ResilienceInterceptor();
+    this.metrics = project.getService(RpcMetricsService.class);
+
+    var dispatcher = new Dispatcher();
+    dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+    this.httpClient = new OkHttpClient.Builder()
+        .connectionPool(
+            new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+        .dispatcher(dispatcher)
+        // retries wait outside the per host limit
+        .addInterceptor(resilience)
+        .addInterceptor(this::limitPerHost)
+        // each attempt is recorded, once a connection to the node is free
+        .addInterceptor(this::recordCall)
+        .build();
+
+    project.getMessageBus().connect(this).subscribe(NodeChangeNotifier.NODE_CHANGE,
+        new NodeChangeNotifier() {
+          @Override
+          public void nodeSelected(ChainLike selectedChain) {
+            clear();
+          }
+
+          @Override
+          public void nodeDeselected() {
+            clear();
+          }
+        });
+  }
+
+  /**
+   * Returns the client of the selected node of a chain.
+   * Calls of a public chain are routed to the fastest seed, or hedged to a second seed, when
+   * turned on in the settings, see {@link EndpointSelector}.
+   *
+   * @param chain chain to connect to
+   * @return shared neow3j instance
+   */
+  public Neow3j getClient(ChainLike chain) {
+    if (project.getService(EndpointSelector.class).isRouted(chain)) {
+      // requests go to the seed the selector picks, with fail over
+      return clients.computeIfAbsent(getKey("routed:" + chain.getType(), null),
+          key -> Neow3j.build(new RoutedService(
+              chain, project.getService(EndpointSelector.class), httpClient)));
+    }
+    Long magic = null;
+    if (chain.getType().equals(BlockChainType.PRIVATE)) {
+      magic = ((PrivateChain) chain).getConfig().getMagic();
+    }
+    return getClient(chain.getSelectedItem().getUrl(), magic);
+  }
+
+  /**
+   * Returns the client of an endpoint.
+   *
+   * @param endpoint rpc url of the node
+   * @param magic    network magic, null to read it from the node
+   * @return shared neow3j instance
+   */
+  public Neow3j getClient(String endpoint, Long magic) {
+    return clients.computeIfAbsent(getKey(endpoint, magic), key -> {
+      var service = new HttpService(endpoint, httpClient);
+      if (magic == null) {
+        return Neow3j.build(service);
+      }
+      // set magic number
+      var config = new Neow3jConfig();
+      config.setNetworkMagic(magic);
+      return Neow3j.build(service, config);
+    });
+  }
+
+  /**
+   * Returns the neo-express client of the selected node of a private chain.
+   *
+   * @param chain private chain to connect to
+   * @return shared neo-express instance
+   */
+  public Neow3jExpress getExpressClient(PrivateChain chain) {
+    var endpoint = chain.getSelectedItem().getUrl();
+    return expressClients.computeIfAbsent(getKey(endpoint, chain.getConfig().getMagic()),
+        key -> Neow3jExpress.build(new HttpService(endpoint, httpClient)));
+  }
+
+  /**
+   * Drops the clients and closes the circuit breakers, connections are closed once idle.
+   */
+  public void clear() {
+    // neow3j shutdown would stop the executor the instances share, only drop them
+    clients.clear();
+    expressClients.clear();
+    // a node may have been started since it failed
+    resilience.reset();
+  }
+
+  @Override
+  public void dispose() {
+    clear();
+    httpClient.dispatcher().executorService().shutdown();
+    httpClient.connectionPool().evictAll();
+  }
+
+  private Response limitPerHost(Interceptor.Chain chain) throws IOException {
+    var host = chain.request().url().host() + ":" + chain.request().url().port();
+    var limit = hostLimits.computeIfAbsent(host, h -> new Semaphore(MAX_REQUESTS_PER_HOST));
+    try {
+      limit.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    }
+    try {
+      return chain.proceed(chain.request());
+    } finally {
+      limit.release();
+    }
+  }
+
+  private Response recordCall(Interceptor.Chain chain) throws IOException {
+    var request = chain.request();
+    var method = RpcMethods.getMethod(request);
+    var endpoint = request.url().host() + ":" + request.url().port();
+    var requestSize = request.body() == null ? 0 : Math.max(0, request.body().contentLength());
+    var start = System.nanoTime();
+    try {
+      var response = chain.proceed(request);
+      var body = response.body();
+      if (body == null) {
+        metrics.record(method, endpoint, System.nanoTime() - start, requestSize,
+            response.isSuccessful());
+        return response;
+      }
+      // neow3j reads the whole body anyway, reading it here gives the size of gzip or chunked
+      // responses and shows json-rpc errors sent with status 200
+      var contentType = body.contentType();
+      var bytes = body.bytes();
+      metrics.record(method, endpoint, System.nanoTime() - start, requestSize + bytes.length,
+          response.isSuccessful() && !RpcMethods.isError(bytes));
+      return response.newBuilder().body(ResponseBody.create(bytes, contentType)).build();
+    } catch (IOException e) {
+      if (!chain.call().isCanceled()) {
+        // a cancelled call, like the slower one of a hedged read, did not fail
+        metrics.record(method, endpoint, System.nanoTime() - start, requestSize, false);
+      }
+      throw e;
+    }
+  }
+
+  private String getKey(String endpoint, Long magic) {
+    return String.format("%s#%s", endpoint, magic == null ? "node" : magic);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.regex.Pattern;
+import okhttp3.Request;
+import okio.Buffer;
+
+/**
+ * Supports reading the json-rpc method of a request and the outcome of a response.
+ */
+final class RpcMethods {
+  private static final Pattern METHOD = Pattern.compile("\"method\"\\s*:\\s*\"([^\"]+)\"");
+  // the first of these keys is the top level one, only jsonrpc and id come before it
+  private static final Pattern OUTCOME = Pattern.compile("\"(result|error)\"\\s*:");
+  private static final int OUTCOME_SCAN_BYTES = 512;
+
+  // reads, sending one of them twice must not change anything
+  private static final Set<String> IDEMPOTENT = Set.of(
+      "getblockcount", "getblock", "getblockheader", "getblockhash", "getbestblockhash",
+      "getrawtransaction", "getapplicationlog", "getversion", "getnep17balances",
+      "getcontractstate", "getnativecontracts", "invokefunction", "invokescript");
+
+  private RpcMethods() {
+  }
+
+  /**
+   * Checks if a method can be sent more than once.
+   *
+   * @param method json-rpc method
+   * @return true if the method only reads
+   */
+  static boolean isIdempotent(String method) {
+    return IDEMPOTENT.contains(method);
+  }
+
+  /**
+   * Gets the method of a json-rpc payload.
+   *
+   * @param payload json-rpc request
+   * @return method, empty if not found
+   */
+  static String getMethod(String payload) {
+    var matcher = METHOD.matcher(payload);
+    return matcher.find() ? matcher.group(1) : "";
+  }
+
+  /**
+   * Checks if a json-rpc response is an error, which nodes send with http status 200.
+   *
+   * @param body response body
+   * @return true if the response has an error instead of a result
+   */
+  static boolean isError(byte[] body) {
+    var head = new String(body, 0, Math.min(body.length, OUTCOME_SCAN_BYTES),
+        StandardCharsets.UTF_8);
+    var matcher = OUTCOME.matcher(head);
+    return matcher.find() && matcher.group(1).equals("error");
+  }
+
+  /**
+   * Gets the method of a json-rpc http request.
+   *
+   * @param request http request
+   * @return method, empty if not found
+   */
+  static String getMethod(Request request) throws IOException {
+    var body = request.body();
+    if (body == null) {
+      return "";
+    }
+    var buffer = new Buffer();
+    body.writeTo(buffer);
+    return getMethod(buffer.readUtf8());
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Records the rpc calls of the project per method and per node.
+ * Every call sent through the {@link RpcClientRegistry} is recorded with its latency, size and
+ * outcome. The latency is the time the node took to answer, waiting for a free connection to
+ * the node is not included, so slow nodes can be told apart from slow plugin code.
+ */
+public class RpcMetricsService {
+  private final Map<String, RpcCallStats> methods;
+  private final Map<String, RpcCallStats> nodes;
+
+  public RpcMetricsService() {
+    this.methods = new ConcurrentHashMap<>();
+    this.nodes = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Records an rpc call.
+   *
+   * @param method   json-rpc method
+   * @param endpoint node the call was sent to
+   * @param nanos    latency in nanoseconds
+   * @param size     request and response bytes
+   * @param success  false if the call failed or the node answered with an error status
+   */
+  public void record(String method, String endpoint, long nanos, long size, boolean success) {
+    methods.computeIfAbsent(method, RpcCallStats::new).record(nanos, size, success);
+    nodes.computeIfAbsent(endpoint, RpcCallStats::new).record(nanos, size, success);
+  }
+
+  /**
+   * Gets the stats of each method, most called first.
+   *
+   * @return stats per method
+   */
+  public List<RpcStats> getMethodStats() {
+    return getStats(methods);
+  }
+
+  /**
+   * Gets the stats of each node, most called first.
+   *
+   * @return stats per node
+   */
+  public List<RpcStats> getNodeStats() {
+    return getStats(nodes);
+  }
+
+  /**
+   * Removes the recorded calls.
+   */
+  public void reset() {
+    methods.clear();
+    nodes.clear();
+  }
+
+  private List<RpcStats> getStats(Map<String, RpcCallStats> stats) {
+    return stats.values().stream()
+        .map(RpcCallStats::snapshot)
+        .sorted(Comparator.comparingLong(RpcStats::getCalls).reversed())
+        .collect(Collectors.toList());
+  }
+}
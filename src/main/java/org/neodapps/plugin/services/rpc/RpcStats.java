@@ -0,0 +1,78 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.services.rpc;
+
+/**
+ * Represents the rpc calls of a method or of a node, as recorded when the stats were read.
+ */
+public class RpcStats {
+  private final String name;
+  private final long calls;
+  private final long errors;
+  private final long bytes;
+  private final long p50;
+  private final long p95;
+  private final long p99;
+
+  /**
+   * Creates the stats.
+   *
+   * @param name   method or node
+   * @param calls  number of calls
+   * @param errors number of calls that failed
+   * @param bytes  request and response bytes of the calls
+   * @param p50    median latency in microseconds
+   * @param p95    95th percentile latency in microseconds
+   * @param p99    99th percentile latency in microseconds
+   */
+  public RpcStats(String name, long calls, long errors, long bytes, long p50, long p95,
+                  long p99) {
+    this.name = name;
+    this.calls = calls;
+    this.errors = errors;
+    this.bytes = bytes;
+    this.p50 = p50;
+    this.p95 = p95;
+    this.p99 = p99;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getCalls() {
+    return calls;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Gets the share of the calls that failed.
+   *
+   * @return error rate between 0 and 1
+   */
+  public double getErrorRate() {
+    return calls == 0 ? 0 : (double) errors / calls;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public long getP95() {
+    return p95;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+}
@@ -0,0 +1,27 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.topics;
+
+import com.intellij.util.messages.Topic;
+import java.util.List;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.blockchain.NodeHealth;
+
+/**
+ * An event fires when the nodes of the applied chain were probed.
+ */
+public interface NodeHealthNotifier {
+  Topic<NodeHealthNotifier> NODE_HEALTH =
+      Topic.create("NODE_HEALTH", NodeHealthNotifier.class);
+
+  /**
+   * Called with the health of every node of the chain, in the order of its nodes.
+   *
+   * @param chain  probed chain
+   * @param health health of the nodes
+   */
+  void healthChecked(ChainLike chain, List<NodeHealth> health);
+}
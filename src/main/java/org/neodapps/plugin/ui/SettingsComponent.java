@@ -8,6 +8,8 @@ package org.neodapps.plugin.ui;
 import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
 import com.intellij.openapi.ui.TextBrowseFolderListener;
 import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.util.ui.FormBuilder;
 import java.awt.BorderLayout;
@@ -15,6 +17,7 @@ import javax.swing.JComponent;
 import javax.swing.JPanel;
 import org.jetbrains.annotations.NotNull;
 import org.neodapps.plugin.NeoMessageBundle;
+import org.neodapps.plugin.services.rpc.RpcClientRegistry;
 
 /**
  * Supports creating a component for the Settings Dialog.
@@ -23,6 +26,19 @@ public class SettingsComponent {
   private final JPanel settingsPanel;
   private final TextFieldWithBrowseButton dotNetRoot;
   private final TextFieldWithBrowseButton neoExpressExecutablePath;
+  private final JBIntSpinner blockRetention;
+  private final JBIntSpinner blockUpdateInterval;
+  private final JBIntSpinner blockUpdateBatchSize;
+  private final JBIntSpinner blockBackfillDepth;
+  private final JBIntSpinner blockBackfillConcurrency;
+  private final JBCheckBox blockHeadersOnly;
+  private final JBIntSpinner nodeHealthInterval;
+  private final JBCheckBox autoSelectSeed;
+  private final JBCheckBox hedgeRequests;
+  private final JBIntSpinner rpcTimeout;
+  private final JBIntSpinner rpcRetries;
+  private final JBIntSpinner rpcCircuitFailures;
+  private final JBIntSpinner rpcCircuitOpenTime;
 
   /**
    * Creates settings component.
@@ -31,6 +47,21 @@ public class SettingsComponent {
     settingsPanel = new JPanel(new BorderLayout());
     dotNetRoot = new TextFieldWithBrowseButton();
     neoExpressExecutablePath = new TextFieldWithBrowseButton();
+    blockRetention = new JBIntSpinner(1000, 10, 100_000, 100);
+    blockUpdateInterval = new JBIntSpinner(250, 1, 10_000, 50);
+    blockUpdateBatchSize = new JBIntSpinner(100, 1, 10_000, 10);
+    blockBackfillDepth = new JBIntSpinner(10, 0, 1_000_000, 100);
+    // more requests than a node is sent at once would only queue
+    blockBackfillConcurrency =
+        new JBIntSpinner(8, 1, RpcClientRegistry.MAX_REQUESTS_PER_HOST, 1);
+    blockHeadersOnly = new JBCheckBox(NeoMessageBundle.message("settings.block.headers.only"));
+    nodeHealthInterval = new JBIntSpinner(10, 1, 3600, 5);
+    autoSelectSeed = new JBCheckBox(NeoMessageBundle.message("settings.node.auto.select"));
+    hedgeRequests = new JBCheckBox(NeoMessageBundle.message("settings.node.hedge"));
+    rpcTimeout = new JBIntSpinner(10000, 500, 120000, 500);
+    rpcRetries = new JBIntSpinner(2, 0, 5, 1);
+    rpcCircuitFailures = new JBIntSpinner(5, 1, 50, 1);
+    rpcCircuitOpenTime = new JBIntSpinner(30, 1, 600, 5);
   }
 
   /**
@@ -60,6 +91,38 @@ public class SettingsComponent {
         .addLabeledComponent(new JBLabel(NeoMessageBundle.message("settings.neo.picker")),
             neoExpressExecutablePath, 1, false)
         .addComponent(new JBLabel(NeoMessageBundle.message("settings.neo.hint")))
+        .addLabeledComponent(new JBLabel(NeoMessageBundle.message("settings.block.retention")),
+            blockRetention, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.block.update.interval")),
+            blockUpdateInterval, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.block.update.batch")),
+            blockUpdateBatchSize, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.block.backfill.depth")),
+            blockBackfillDepth, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.block.backfill.concurrency")),
+            blockBackfillConcurrency, 1, false)
+        .addComponent(blockHeadersOnly)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.node.health.interval")),
+            nodeHealthInterval, 1, false)
+        .addComponent(autoSelectSeed)
+        .addComponent(hedgeRequests)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.rpc.timeout")),
+            rpcTimeout, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.rpc.retries")),
+            rpcRetries, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.rpc.circuit.failures")),
+            rpcCircuitFailures, 1, false)
+        .addLabeledComponent(
+            new JBLabel(NeoMessageBundle.message("settings.rpc.circuit.open")),
+            rpcCircuitOpenTime, 1, false)
         .getPanel();
 
     settingsPanel.add(content, BorderLayout.NORTH);
@@ -87,4 +150,108 @@ public class SettingsComponent {
   public void setNeoExpressExecutablePath(@NotNull String path) {
     neoExpressExecutablePath.setText(path);
   }
+
+  public int getBlockRetention() {
+    return blockRetention.getNumber();
+  }
+
+  public void setBlockRetention(int retention) {
+    blockRetention.setNumber(retention);
+  }
+
+  public int getBlockUpdateInterval() {
+    return blockUpdateInterval.getNumber();
+  }
+
+  public void setBlockUpdateInterval(int interval) {
+    blockUpdateInterval.setNumber(interval);
+  }
+
+  public int getBlockUpdateBatchSize() {
+    return blockUpdateBatchSize.getNumber();
+  }
+
+  public void setBlockUpdateBatchSize(int batchSize) {
+    blockUpdateBatchSize.setNumber(batchSize);
+  }
+
+  public int getBlockBackfillDepth() {
+    return blockBackfillDepth.getNumber();
+  }
+
+  public void setBlockBackfillDepth(int depth) {
+    blockBackfillDepth.setNumber(depth);
+  }
+
+  public int getBlockBackfillConcurrency() {
+    return blockBackfillConcurrency.getNumber();
+  }
+
+  public void setBlockBackfillConcurrency(int concurrency) {
+    blockBackfillConcurrency.setNumber(concurrency);
+  }
+
+  public boolean isBlockHeadersOnly() {
+    return blockHeadersOnly.isSelected();
+  }
+
+  public void setBlockHeadersOnly(boolean headersOnly) {
+    blockHeadersOnly.setSelected(headersOnly);
+  }
+
+  public int getNodeHealthInterval() {
+    return nodeHealthInterval.getNumber();
+  }
+
+  public void setNodeHealthInterval(int value) {
+    nodeHealthInterval.setNumber(value);
+  }
+
+  public boolean isAutoSelectSeed() {
+    return autoSelectSeed.isSelected();
+  }
+
+  public void setAutoSelectSeed(boolean autoSelect) {
+    autoSelectSeed.setSelected(autoSelect);
+  }
+
+  public boolean isHedgeRequests() {
+    return hedgeRequests.isSelected();
+  }
+
+  public void setHedgeRequests(boolean hedge) {
+    hedgeRequests.setSelected(hedge);
+  }
+
+  public int getRpcTimeout() {
+    return rpcTimeout.getNumber();
+  }
+
+  public void setRpcTimeout(int value) {
+    rpcTimeout.setNumber(value);
+  }
+
+  public int getRpcRetries() {
+    return rpcRetries.getNumber();
+  }
+
+  public void setRpcRetries(int value) {
+    rpcRetries.setNumber(value);
+  }
+
+  public int getRpcCircuitFailures() {
+    return rpcCircuitFailures.getNumber();
+  }
+
+  public void setRpcCircuitFailures(int value) {
+    rpcCircuitFailures.setNumber(value);
+  }
+
+  public int getRpcCircuitOpenTime() {
+    return rpcCircuitOpenTime.getNumber();
+  }
+
+  public void setRpcCircuitOpenTime(int value) {
+    rpcCircuitOpenTime.setNumber(value);
+  }
 }
@@ -7,6 +7,7 @@ package org.neodapps.plugin.ui;
 
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
 import org.neodapps.plugin.ui.details.DetailsComponent;
 import org.neodapps.plugin.ui.toolbar.NodePickerComponent;
 import org.neodapps.plugin.ui.toolbar.ToolBarComponent;
@@ -29,11 +30,14 @@ public class ToolWindowController implements Disposable {
    * @return the tool window component
    */
   public ToolWindowComponent getContent() {
+    var details = new DetailsComponent(project);
+    // the details stop their block and balance subscriptions when disposed
+    Disposer.register(this, details);
     this.component = new ToolWindowComponent(
         new ToolBarComponent(new NodePickerComponent(project),
             new NodeActionComponent(project)
         ),
-        new DetailsComponent(project));
+        details);
     return this.component;
   }
 
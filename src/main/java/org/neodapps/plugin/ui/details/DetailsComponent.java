@@ -6,21 +6,21 @@
 package org.neodapps.plugin.ui.details;
 
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.ui.components.panels.Wrapper;
 import java.awt.BorderLayout;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 import javax.swing.BoxLayout;
 import javax.swing.JPanel;
-import javax.swing.SwingWorker;
-import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.ChainLike;
-import org.neodapps.plugin.blockchain.NodeRunningState;
-import org.neodapps.plugin.services.chain.BlockchainService;
+import org.neodapps.plugin.blockchain.NodeHealth;
+import org.neodapps.plugin.services.chain.NodeHealthMonitor;
 import org.neodapps.plugin.topics.NodeChangeNotifier;
+import org.neodapps.plugin.topics.NodeHealthNotifier;
 
 /**
  * Represents the component with status and tabs.
@@ -30,6 +30,11 @@ public class DetailsComponent extends JPanel implements Disposable {
 
   private Wrapper statusWrapper;
   private Wrapper tabsWrapper;
+  private ChainLike selectedChain;
+  // status of each node shown, updated in place by new probes of the same chain
+  private List<SelectedNodeStateComponent> nodeStates;
+  // disposed when replaced, so the tabs stop following the blocks of the chain
+  private TabsComponent tabs;
 
   /**
    * Creates the component with status and tabs.
@@ -44,7 +49,8 @@ public class DetailsComponent extends JPanel implements Disposable {
     add(this.statusWrapper, BorderLayout.NORTH);
     add(this.tabsWrapper, BorderLayout.CENTER);
 
-    project.getMessageBus().connect().subscribe(NodeChangeNotifier.NODE_CHANGE,
+    var connection = project.getMessageBus().connect(this);
+    connection.subscribe(NodeChangeNotifier.NODE_CHANGE,
         new NodeChangeNotifier() {
           @Override
           public void nodeSelected(ChainLike selectedChain) {
@@ -57,73 +63,93 @@ public class DetailsComponent extends JPanel implements Disposable {
           }
         });
 
+    // nodes are probed in the background, update the status as results come in
+    connection.subscribe(NodeHealthNotifier.NODE_HEALTH,
+        (chain, health) -> ApplicationManager.getApplication()
+            .invokeLater(() -> showHealth(chain, health)));
+
     checkStatus(null);
   }
 
   private void checkStatus(ChainLike selectedChain) {
-    tabsWrapper.setContent(new JPanel());
+    this.selectedChain = selectedChain;
+    this.nodeStates = null;
+    setTabs(null);
+    var monitor = project.getService(NodeHealthMonitor.class);
     if (selectedChain == null) {
+      monitor.stop();
       statusWrapper.setContent(new SelectedNodeStateComponent(project, null, 0, null, false));
       return;
     }
+    var health = monitor.getLastHealth(selectedChain);
+    if (health != null) {
+      // already monitored
+      showHealth(selectedChain, health);
+      return;
+    }
+    // probes of the chain are published when they finish
+    monitor.start(selectedChain);
     statusWrapper.setContent(new SelectedNodeStateComponent(project, null, 0, null, true));
-    var worker = new SwingWorker<List<NodeRunningState>, Void>() {
-      @Override
-      protected List<NodeRunningState> doInBackground() {
-        var list = new ArrayList<NodeRunningState>();
-        var service = project.getService(BlockchainService.class);
-        if (selectedChain.getType().equals(BlockChainType.PRIVATE)) {
-          // if private chain, all nodes should be checked
-          selectedChain.getNodes()
-              .forEach(node -> list.add(service.checkNodeStatus(selectedChain, node)));
-        } else {
-          // if public check only the selected node
-          list.add(service.checkNodeStatus(selectedChain, selectedChain.getSelectedItem()));
-        }
-        return list;
+  }
+
+  private void showHealth(ChainLike chain, List<NodeHealth> health) {
+    if (statusWrapper == null || chain != selectedChain) {
+      // disposed, or a result of a chain no longer selected
+      return;
+    }
+    // all the nodes of a private net are shown, only the selected node of a public chain
+    var indexes = new ArrayList<Integer>();
+    if (chain.getType().equals(BlockChainType.PRIVATE)) {
+      for (int i = 0; i < health.size(); i++) {
+        indexes.add(i);
       }
+    } else {
+      indexes.add(chain.getSelectedIndex());
+    }
+    var running = indexes.stream().allMatch(i -> health.get(i).isRunning());
 
-      @Override
-      protected void done() {
-        List<NodeRunningState> statusList;
-        try {
-          statusList = get();
-          if (selectedChain.getType().equals(BlockChainType.PRIVATE)) {
-            // if private chain, all nodes should be checked
-            var nodes = selectedChain.getNodes();
-            var panel = new JPanel();
-            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-            var running = true;
-            for (int i = 0; i < nodes.size(); i++) {
-              var node = nodes.get(i);
-              var status = statusList.get(i);
-              running = running && status.equals(NodeRunningState.RUNNING);
-              panel
-                  .add(new SelectedNodeStateComponent(project, selectedChain, i, status, false));
-            }
-            statusWrapper.setContent(panel);
-            if (running) {
-              tabsWrapper.setContent(new TabsComponent(project, selectedChain));
-            }
-          } else {
-            // if public only selected node
-            statusWrapper.setContent(new SelectedNodeStateComponent(project, selectedChain,
-                0, statusList.get(0), false));
-
-            if (statusList.get(0).equals(NodeRunningState.RUNNING)) {
-              tabsWrapper.setContent(new TabsComponent(project, selectedChain));
-            }
-          }
-        } catch (InterruptedException | ExecutionException e) {
-          NeoNotifier.notifyError(project, e.getMessage());
-        }
+    if (nodeStates == null || nodeStates.size() != indexes.size()) {
+      var panel = new JPanel();
+      panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+      nodeStates = new ArrayList<>();
+      for (int i : indexes) {
+        var nodeState = new SelectedNodeStateComponent(project, chain, i, health.get(i), false);
+        nodeStates.add(nodeState);
+        panel.add(nodeState);
       }
-    };
-    worker.execute();
+      statusWrapper.setContent(panel);
+    } else {
+      // a new probe of the same nodes only updates their status
+      for (int i = 0; i < indexes.size(); i++) {
+        nodeStates.get(i).setHealth(chain, indexes.get(i), health.get(indexes.get(i)));
+      }
+    }
+
+    // tabs are only replaced when the running state changes, so they keep their content
+    if (running && tabs == null) {
+      setTabs(new TabsComponent(project, chain));
+    } else if (!running && tabs != null) {
+      setTabs(null);
+    }
+  }
+
+  private void setTabs(TabsComponent newTabs) {
+    if (tabs != null) {
+      Disposer.dispose(tabs);
+    }
+    tabs = newTabs;
+    if (newTabs == null) {
+      tabsWrapper.setContent(new JPanel());
+      return;
+    }
+    Disposer.register(this, newTabs);
+    tabsWrapper.setContent(newTabs);
   }
 
   @Override
   public void dispose() {
+    // the tabs are disposed as a child of this component
+    tabs = null;
     statusWrapper = null;
     tabsWrapper = null;
   }
@@ -14,15 +14,15 @@ import com.intellij.ui.components.JBTextField;
 import com.intellij.ui.components.panels.Wrapper;
 import com.intellij.util.ui.JBUI;
 import java.awt.FlowLayout;
-import java.util.Arrays;
 import javax.swing.JPanel;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.blockchain.NodeHealth;
 import org.neodapps.plugin.blockchain.NodeRunningState;
 import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.services.chain.NodeHealthMonitor;
 import org.neodapps.plugin.services.express.NeoExpressService;
-import org.neodapps.plugin.topics.NodeChangeNotifier;
 import org.neodapps.plugin.ui.ToolWindowButton;
 
 /**
@@ -37,6 +37,10 @@ public class SelectedNodeStateComponent extends Wrapper implements Disposable {
   private JBLabel nodeStatusLabel;
   private JPanel applyInstructions;
   private ToolWindowButton actionButton;
+  private JPanel runningContent;
+  // node shown, the buttons act on it
+  private ChainLike chain;
+  private int nodeIndex;
 
   /**
    * Shows the status if a chain is selected.
@@ -44,7 +48,7 @@ public class SelectedNodeStateComponent extends Wrapper implements Disposable {
    * @param project intellij project
    */
   public SelectedNodeStateComponent(Project project, ChainLike selected, int nodeIndex,
-                                    NodeRunningState state, boolean loading) {
+                                    NodeHealth health, boolean loading) {
     this.project = project;
     nodeNameLabel = new JBTextField();
     nodeNameLabel.setEditable(false);
@@ -68,13 +72,24 @@ public class SelectedNodeStateComponent extends Wrapper implements Disposable {
         NeoMessageBundle.message("toolwindow.private.net.status"),
         AllIcons.Javaee.UpdateRunningApplication
     );
+    // probes the node now instead of showing the last result again
+    refreshStatusButton.addActionListener(a -> {
+      if (chain != null) {
+        project.getService(NodeHealthMonitor.class).probeNow(chain);
+      }
+    });
+    actionButton.addActionListener(a -> {
+      // do not run this in background
+      project.getService(NeoExpressService.class)
+          .runPrivateNet((PrivateChain) chain, nodeIndex);
+    });
 
     if (loading) {
       setLoading();
     } else if (selected == null) {
       setNotSelected();
     } else {
-      setRunningState(selected, nodeIndex, state);
+      setRunningState(selected, nodeIndex, health);
     }
   }
 
@@ -92,55 +107,49 @@ public class SelectedNodeStateComponent extends Wrapper implements Disposable {
     setContent(panel);
   }
 
+  /**
+   * Shows the health of a node.
+   * The status is updated in place when a node is shown already, so a new probe result does not
+   * rebuild the component.
+   *
+   * @param chain     chain of the node
+   * @param nodeIndex index of the node in the chain
+   * @param health    health found by the last probe
+   */
+  public void setHealth(ChainLike chain, int nodeIndex, NodeHealth health) {
+    setRunningState(chain, nodeIndex, health);
+  }
+
   /**
    * Sets the state of the node as running.
    */
-  private void setRunningState(ChainLike chain, int nodeIndex,
-                               NodeRunningState runningState) {
+  private void setRunningState(ChainLike chain, int nodeIndex, NodeHealth health) {
     if (chain == null) {
       return;
     }
-    var nodeName = String.format("%s (%s)", chain, chain.getNodes().get(nodeIndex));
-    var content = getRunningStateContent(nodeName, runningState);
-    content.add(refreshStatusButton);
-    // set run button 
-    if (runningState.equals(NodeRunningState.NOT_RUNNING)
-        && chain.getType().equals(BlockChainType.PRIVATE)) {
-      setAction(chain, nodeIndex);
-      content.add(actionButton);
+    this.chain = chain;
+    this.nodeIndex = nodeIndex;
+    nodeNameLabel.setText(String.format("%s (%s)", chain, chain.getNodes().get(nodeIndex)));
+    nodeStatusLabel.setIcon(health.getState().getIcon());
+    if (health.isRunning()) {
+      nodeStatusLabel.setText(NeoMessageBundle.message("toolwindow.node.health",
+          health.getState().toString(), health.getLatency(), health.getHeight()));
+    } else {
+      nodeStatusLabel.setText(health.getState().toString());
+    }
+    // run button only applies to a private net node that is not running
+    actionButton.setVisible(health.getState().equals(NodeRunningState.NOT_RUNNING)
+        && chain.getType().equals(BlockChainType.PRIVATE));
+
+    if (runningContent == null) {
+      runningContent = new JPanel(new FlowLayout());
+      runningContent.setBorder(JBUI.Borders.customLine(JBColor.border(), 0, 0, 1, 0));
+      runningContent.add(nodeNameLabel);
+      runningContent.add(nodeStatusLabel);
+      runningContent.add(refreshStatusButton);
+      runningContent.add(actionButton);
+      setContent(runningContent);
     }
-    setContent(content);
-  }
-
-  /**
-   * Show run action when a node is not running.
-   * Only applies to not running private net.
-   */
-  private void setAction(ChainLike chain, int nodeIndex) {
-    // remove older listeners
-    Arrays.stream(actionButton.getActionListeners())
-        .forEach(l -> actionButton.removeActionListener(l));
-
-    actionButton.addActionListener(a -> {
-      // do not run this in background
-      project.getService(NeoExpressService.class)
-          .runPrivateNet((PrivateChain) chain, nodeIndex);
-    });
-
-    refreshStatusButton.addActionListener(
-        a -> project.getMessageBus().syncPublisher(NodeChangeNotifier.NODE_CHANGE)
-            .nodeSelected(chain));
-  }
-
-  private JPanel getRunningStateContent(String nodeName, NodeRunningState runningState) {
-    var statusPanel = new JPanel(new FlowLayout());
-    statusPanel.setBorder(JBUI.Borders.customLine(JBColor.border(), 0, 0, 1, 0));
-    nodeNameLabel.setText(nodeName);
-    nodeStatusLabel.setIcon(runningState.getIcon());
-    nodeStatusLabel.setText(runningState.toString());
-    statusPanel.add(nodeNameLabel);
-    statusPanel.add(nodeStatusLabel);
-    return statusPanel;
   }
 
   private JPanel getNotSelectedContent() {
@@ -156,5 +165,6 @@ public class SelectedNodeStateComponent extends Wrapper implements Disposable {
     nodeStatusLabel = null;
     actionButton = null;
     applyInstructions = null;
+    runningContent = null;
   }
 }
@@ -2,6 +2,9 @@ package org.neodapps.plugin.ui.details;
 
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.ui.SearchTextField;
 import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.components.panels.Wrapper;
@@ -10,12 +13,16 @@ import com.intellij.ui.tabs.TabInfo;
 import com.intellij.ui.tabs.impl.JBTabsImpl;
 import com.intellij.util.ui.JBUI;
 import java.awt.event.ItemEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 import javax.swing.JComponent;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.services.chain.BlockchainService;
 import org.neodapps.plugin.ui.details.blocks.BlockInfoTable;
 import org.neodapps.plugin.ui.details.contracts.ContractsComponent;
+import org.neodapps.plugin.ui.details.diagnostics.DiagnosticsComponent;
 import org.neodapps.plugin.ui.details.wallets.WalletComponent;
 
 /**
@@ -46,25 +53,62 @@ public class TabsComponent extends Wrapper implements Disposable {
       addWalletComponent(chain);
       addContractsComponent(chain);
     }
+    addDiagnosticsComponent();
 
     return tabs.getComponent();
   }
 
   private void addBlockTableComponent(ChainLike selectedChain) {
     var panel = JBUI.Panels.simplePanel();
-    var blockTableWrapper = new Wrapper();
 
     // table
-    blockTableWrapper.setContent(new JBScrollPane(
-        new BlockInfoTable(project, selectedChain, false)));
-    panel.addToCenter(blockTableWrapper);
+    var blockTable = new BlockInfoTable(project, selectedChain);
+    Disposer.register(this, blockTable);
+    var scrollPane = new JBScrollPane(blockTable);
+    // older blocks are paged in when scrolled past the bottom
+    var scrollBar = scrollPane.getVerticalScrollBar();
+    scrollBar.addAdjustmentListener(e -> {
+      if (scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum()) {
+        blockTable.loadOlderBlocks();
+      }
+    });
+    panel.addToCenter(scrollPane);
 
     // toolbar
+    // hiding empty blocks only filters the rows, the loaded blocks are kept
     var hideCheckbox = new JBCheckBox();
     hideCheckbox.setText("Hide empty blocks");
-    hideCheckbox.addItemListener(e -> blockTableWrapper.setContent(new JBScrollPane(
-        new BlockInfoTable(project, selectedChain, e.getStateChange() == ItemEvent.SELECTED))));
-    panel.addToTop(hideCheckbox);
+    hideCheckbox.addItemListener(
+        e -> blockTable.setHideEmptyBlocks(e.getStateChange() == ItemEvent.SELECTED));
+
+    // search the loaded blocks, a chosen result opens its block
+    var searchField = new SearchTextField(false);
+    // a header feed only indexes the blocks that were opened
+    var headers = project.getService(BlockchainService.class).isHeaderFeed(selectedChain);
+    searchField.getTextEditor().getEmptyText().setText(NeoMessageBundle.message(
+        headers ? "block.search.placeholder.opened" : "block.search.placeholder"));
+    searchField.addKeyboardListener(new KeyAdapter() {
+      @Override
+      public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() != KeyEvent.VK_ENTER) {
+          return;
+        }
+        var results = blockTable.search(searchField.getText());
+        if (results.isEmpty()) {
+          JBPopupFactory.getInstance()
+              .createMessage(NeoMessageBundle.message("block.search.no.result"))
+              .showUnderneathOf(searchField);
+          return;
+        }
+        JBPopupFactory.getInstance()
+            .createPopupChooserBuilder(results)
+            .setItemChosenCallback(
+                result -> blockTable.showBlockPopup(result.getBlockIndex(), selectedChain))
+            .createPopup()
+            .showUnderneathOf(searchField);
+      }
+    });
+    panel.addToTop(JBUI.Panels.simplePanel().addToLeft(hideCheckbox).addToCenter(searchField));
 
     TabInfo blockTab = new TabInfo(panel)
         .setText(NeoMessageBundle.message("toolwindow.tabs.blocks"));
@@ -72,7 +116,9 @@ public class TabsComponent extends Wrapper implements Disposable {
   }
 
   private void addWalletComponent(ChainLike selectedChain) {
+    // stops tracking the balances when the tabs are replaced
     var wallet = new WalletComponent(project, selectedChain);
+    Disposer.register(this, wallet);
     TabInfo walletTab = new TabInfo(new JBScrollPane(wallet))
         .setText(NeoMessageBundle.message("toolwindow.tabs.wallets"));
     tabs.addTab(walletTab);
@@ -85,6 +131,13 @@ public class TabsComponent extends Wrapper implements Disposable {
     tabs.addTab(contractTab);
   }
 
+  private void addDiagnosticsComponent() {
+    var diagnosticsComponent = new DiagnosticsComponent(project);
+    TabInfo diagnosticsTab = new TabInfo(new JBScrollPane(diagnosticsComponent))
+        .setText(NeoMessageBundle.message("toolwindow.tabs.diagnostics"));
+    tabs.addTab(diagnosticsTab);
+  }
+
   @Override
   public void dispose() {
     tabs.removeAllTabs();
@@ -9,13 +9,19 @@ import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.table.JBTable;
 import io.neow3j.protocol.core.response.NeoBlock;
-import io.neow3j.protocol.core.response.NeoGetBlock;
-import io.reactivex.Observable;
 import java.awt.Cursor;
+import java.util.List;
 import javax.swing.ListSelectionModel;
+import javax.swing.RowFilter;
 import javax.swing.SwingWorker;
+import javax.swing.table.TableRowSorter;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.persistance.SettingsState;
+import org.neodapps.plugin.services.chain.BlockFeedService;
+import org.neodapps.plugin.services.chain.BlockSearchIndex;
+import org.neodapps.plugin.services.chain.BlockSearchResult;
+import org.neodapps.plugin.services.chain.BlockSummary;
 import org.neodapps.plugin.services.chain.BlockchainService;
 import org.neodapps.plugin.topics.NodeChangeNotifier;
 
@@ -24,16 +30,26 @@ import org.neodapps.plugin.topics.NodeChangeNotifier;
  */
 public class BlockInfoTable extends JBTable implements Disposable {
   final Project project;
+  private final TableRowSorter<BlockInfoTableModel> sorter;
+  private final BlockSearchIndex searchIndex;
+  private io.reactivex.disposables.Disposable searchIndexSubscription;
 
   /**
    * Creates the block info table.
    *
-   * @param project         intellij project
-   * @param hideEmptyBlocks if empty blocks should be filtered out
+   * @param project intellij project
    */
-  public BlockInfoTable(Project project, ChainLike selectedChain, boolean hideEmptyBlocks) {
+  public BlockInfoTable(Project project, ChainLike selectedChain) {
     super(new BlockInfoTableModel(project));
     this.project = project;
+    this.searchIndex = new BlockSearchIndex(SettingsState.getInstance().blockRetention);
+
+    // rows are kept in block order, the sorter is only used to filter rows
+    sorter = new TableRowSorter<>((BlockInfoTableModel) getModel());
+    for (int i = 0; i < getModel().getColumnCount(); i++) {
+      sorter.setSortable(i, false);
+    }
+    setRowSorter(sorter);
 
     // set cursor
     setCursor(new Cursor(Cursor.HAND_CURSOR));
@@ -51,8 +67,9 @@ public class BlockInfoTable extends JBTable implements Disposable {
       if (selectedRow == -1) {
         return;
       }
-      NeoBlock block = ((BlockInfoTableModel) getModel()).getBlock(selectedRow);
-      new BlockItemPopup(block, selectedChain).showPopup();
+      var index = ((BlockInfoTableModel) getModel())
+          .getBlockIndex(convertRowIndexToModel(selectedRow));
+      showBlockPopup(index, selectedChain);
 
       // clear selection
       selectionModel.clearSelection();
@@ -72,42 +89,105 @@ public class BlockInfoTable extends JBTable implements Disposable {
       }
     });
 
-    subscribeToBlocks(selectedChain, hideEmptyBlocks);
+    subscribeToBlocks(selectedChain);
+  }
+
+  /**
+   * Shows or hides empty blocks without reloading the blocks.
+   *
+   * @param hideEmptyBlocks if empty blocks should be filtered out
+   */
+  public void setHideEmptyBlocks(boolean hideEmptyBlocks) {
+    if (!hideEmptyBlocks) {
+      sorter.setRowFilter(null);
+      return;
+    }
+    sorter.setRowFilter(new RowFilter<BlockInfoTableModel, Integer>() {
+      @Override
+      public boolean include(Entry<? extends BlockInfoTableModel, ? extends Integer> entry) {
+        // rows of older blocks that are not loaded yet are kept until known
+        var block = entry.getModel().peekBlock(entry.getIdentifier());
+        return block == null || !block.isEmpty();
+      }
+    });
   }
 
   /**
    * Subscribe to latest blocks.
+   * The table shares the chain's block feed with other consumers of the project.
    */
-  public void subscribeToBlocks(ChainLike selectedChain, boolean hideEmptyBlocks) {
-    var worker = new SwingWorker<Observable<NeoGetBlock>, Void>() {
+  public void subscribeToBlocks(ChainLike selectedChain) {
+    var feed = project.getService(BlockFeedService.class).getBlockFeed(selectedChain);
+    var headers = project.getService(BlockchainService.class).isHeaderFeed(selectedChain);
+    ((BlockInfoTableModel) getModel()).subscribe(selectedChain, feed, headers);
+    if (headers) {
+      // headers have no transactions to search, only opened blocks are indexed
+      return;
+    }
+    // index the same blocks the table shows
+    searchIndexSubscription = feed.subscribe(block -> searchIndex.add(block.getBlock()),
+        error -> NeoNotifier.notifyError(project, error.getMessage()));
+  }
+
+  /**
+   * Searches the loaded blocks by block hash, transaction hash or sender.
+   *
+   * @param query text to search for
+   * @return matching blocks and transactions
+   */
+  public List<BlockSearchResult> search(String query) {
+    return searchIndex.search(query);
+  }
+
+  /**
+   * Pages in older blocks, called when the table is scrolled to the bottom.
+   */
+  public void loadOlderBlocks() {
+    ((BlockInfoTableModel) getModel()).loadOlderBlocks();
+  }
+
+  /**
+   * Fetches the full block and shows it in a popup.
+   *
+   * @param index         index of the block
+   * @param selectedChain chain of the block
+   */
+  public void showBlockPopup(long index, ChainLike selectedChain) {
+    var worker = new SwingWorker<NeoBlock, Void>() {
       @Override
-      protected Observable<NeoGetBlock> doInBackground() {
-        var service = project.getService(BlockchainService.class);
-        return service.subscribeToBlocks(selectedChain);
+      protected NeoBlock doInBackground() {
+        return project.getService(BlockchainService.class).getBlock(selectedChain, index);
       }
 
       @Override
       protected void done() {
-        Observable<NeoGetBlock> observable;
         try {
-          observable = get();
-          if (observable == null) {
+          var block = get();
+          if (block == null) {
             // notified, do nothing
             return;
           }
-          ((BlockInfoTableModel) getModel()).subscribe(observable, hideEmptyBlocks);
-
+          // the row may only have the header, fill in what the full block tells
+          ((BlockInfoTableModel) getModel()).updateBlock(BlockSummary.fromBlock(block));
+          searchIndex.add(block);
+          new BlockItemPopup(project, block, selectedChain).showPopup();
         } catch (Exception e) {
           NeoNotifier.notifyError(project, e.getMessage());
         }
       }
     };
-
     worker.execute();
   }
 
+  /**
+   * Stops listening to blocks and drops the search index.
+   */
   public void unSubscribeFromBlocks() {
     ((BlockInfoTableModel) getModel()).disposeObservable();
+    if (searchIndexSubscription != null && !searchIndexSubscription.isDisposed()) {
+      searchIndexSubscription.dispose();
+    }
+    searchIndex.clear();
   }
 
   @Override
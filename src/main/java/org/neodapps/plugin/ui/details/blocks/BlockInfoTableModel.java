@@ -6,22 +6,38 @@
 package org.neodapps.plugin.ui.details.blocks;
 
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
-import io.neow3j.protocol.core.response.NeoBlock;
 import io.neow3j.protocol.core.response.NeoGetBlock;
 import io.reactivex.Observable;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import javax.swing.table.AbstractTableModel;
+import org.neodapps.plugin.NeoNotifier;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.persistance.SettingsState;
+import org.neodapps.plugin.services.chain.BlockSummary;
+import org.neodapps.plugin.services.chain.BlockchainService;
 
 /**
  * Represents the model of block table.
+ * The latest blocks up to the retention size are kept newest first. Older blocks are paged in
+ * when the user scrolls past the bottom, only a bounded number of those pages is kept in memory
+ * and rows of evicted pages are loaded again when shown. Latest blocks can have gaps, older rows
+ * are the consecutive blocks below the oldest latest block.
  */
 public class BlockInfoTableModel extends AbstractTableModel implements Disposable {
+  static final int PAGE_SIZE = 50;
+  private static final int MAX_CACHED_PAGES = 20;
+
   final Project project;
-  final List<NeoBlock> blocks = new ArrayList<>();
+  final BlockRingBuffer<BlockSummary> blocks;
   final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd h:mm a");
   private final String[] columnNames = {
       BlockInfoTableColumn.INDEX.getName(), BlockInfoTableColumn.TIME.getName(),
@@ -30,18 +46,43 @@ public class BlockInfoTableModel extends AbstractTableModel implements Disposabl
   };
   io.reactivex.disposables.Disposable disposableRxJx;
 
+  // older blocks by page number, least recently used page is evicted first
+  private final Map<Long, BlockSummary[]> pages;
+  private final Set<Long> loadingPages;
+  // number of rows after the latest blocks
+  private long historySize;
+  private ChainLike chain;
+
   /**
    * Create the model of block table.
    *
    * @param project intellij project
    */
   public BlockInfoTableModel(Project project) {
+    this(project, SettingsState.getInstance().blockRetention);
+  }
+
+  /**
+   * Create the model of block table.
+   *
+   * @param project   intellij project
+   * @param retention maximum number of blocks kept in the table
+   */
+  public BlockInfoTableModel(Project project, int retention) {
     this.project = project;
+    this.blocks = new BlockRingBuffer<>(Math.max(1, retention));
+    this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, BlockSummary[]> eldest) {
+        return size() > MAX_CACHED_PAGES;
+      }
+    };
+    this.loadingPages = new HashSet<>();
   }
 
   @Override
   public int getRowCount() {
-    return blocks.size();
+    return (int) Math.min(Integer.MAX_VALUE, blocks.size() + historySize);
   }
 
   @Override
@@ -56,18 +97,23 @@ public class BlockInfoTableModel extends AbstractTableModel implements Disposabl
 
   @Override
   public Object getValueAt(int rowIndex, int columnIndex) {
-    var block = blocks.get(rowIndex);
+    var block = getBlock(rowIndex);
+    if (block == null) {
+      // page is still loading
+      return columnIndex == 0 ? getBlockIndex(rowIndex) : "...";
+    }
     switch (columnIndex) {
       case 0:
         return block.getIndex();
       case 1:
         return sdf.format(new Timestamp(block.getTime()).getTime());
       case 2:
-        return block.getTransactions().size();
+        // only the header is known until the block is opened
+        return block.isComplete() ? block.getTransactionCount() : "-";
       case 3:
         return block.getHash();
       case 4:
-        return String.format("%d Bytes", block.getSize());
+        return block.isComplete() ? String.format("%d Bytes", block.getSize()) : "-";
       default:
         return null;
     }
@@ -75,21 +121,155 @@ public class BlockInfoTableModel extends AbstractTableModel implements Disposabl
 
   /**
    * Subscribe table model to latest blocks.
+   * Blocks are buffered off the event dispatch thread and applied to the table in batches,
+   * so a burst of blocks while catching up costs a single table update.
    *
-   * @param hideEmptyBlocks filter empty blocks
+   * @param chain      chain of the blocks, used to page in older blocks
+   * @param observable block feed
+   * @param headers    if the feed delivers block headers only
    */
-  public void subscribe(Observable<NeoGetBlock> observable, Boolean hideEmptyBlocks) {
+  public void subscribe(ChainLike chain, Observable<NeoGetBlock> observable, boolean headers) {
+    this.chain = chain;
+    var settings = SettingsState.getInstance();
+    disposableRxJx = observable
+        // only keep what the table shows, full block is fetched when a row is opened
+        .map(blockReq -> headers
+            ? BlockSummary.fromHeader(blockReq.getBlock())
+            : BlockSummary.fromBlock(blockReq.getBlock()))
+        // a zero interval would emit empty batches continuously
+        .buffer(Math.max(1, settings.blockUpdateInterval), TimeUnit.MILLISECONDS,
+            Math.max(1, settings.blockUpdateBatchSize))
+        .filter(batch -> !batch.isEmpty())
+        // table model should only be changed in the event dispatch thread
+        .subscribe(batch -> ApplicationManager.getApplication()
+                .invokeLater(() -> addBlocks(batch)),
+            error -> NeoNotifier.notifyError(project, error.getMessage()));
+  }
 
-    disposableRxJx = observable.subscribe(blockReq -> {
-      var block = blockReq.getBlock();
-      if (hideEmptyBlocks) {
-        if (block.getTransactions().size() > 0) {
-          blocks.add(0, block);
+  /**
+   * Adds blocks as the first rows.
+   * If the table is full the oldest latest blocks are evicted, or moved to the older pages once
+   * the user has paged in older blocks. Blocks not newer than the newest block are dropped, like
+   * those of a feed that started again.
+   *
+   * @param batch blocks to add, oldest first
+   */
+  public void addBlocks(List<BlockSummary> batch) {
+    var oldSize = blocks.size();
+    var oldRows = getRowCount();
+    var newest = oldSize == 0 ? -1 : blocks.get(0).getIndex();
+    var added = 0;
+    var evictedCount = 0;
+    for (BlockSummary block : batch) {
+      if (block == null || block.getIndex() <= newest) {
+        // already shown
+        continue;
+      }
+      newest = block.getIndex();
+      added++;
+      var evicted = blocks.add(block);
+      if (evicted != null) {
+        evictedCount++;
+        if (historySize > 0) {
+          cache(evicted);
+          // evicted rows stay in the table as older blocks, down from the new oldest block
+          historySize += blocks.get(blocks.size() - 1).getIndex() - evicted.getIndex();
         }
+      }
+    }
+    if (added == 0) {
+      return;
+    }
+
+    if (historySize > 0) {
+      if (getRowCount() - oldRows == added) {
+        fireTableRowsInserted(0, added - 1);
       } else {
-        blocks.add(0, block);
+        // a gap was evicted, the older rows moved by more than the added blocks
+        fireTableDataChanged();
       }
-    });
+      return;
+    }
+    var newSize = blocks.size();
+    // rows that fell out of the retention window
+    var removed = Math.min(oldSize, evictedCount);
+    if (removed > 0) {
+      fireTableRowsDeleted(oldSize - removed, oldSize - 1);
+    }
+    var inserted = newSize - (oldSize - removed);
+    if (inserted > 0) {
+      fireTableRowsInserted(0, inserted - 1);
+    }
+  }
+
+  /**
+   * Adds a page of older blocks as the last rows and prefetches the page after it.
+   * Rows are shown right away and filled in when their blocks are loaded.
+   */
+  public void loadOlderBlocks() {
+    var lowest = getLowestIndex();
+    if (chain == null || lowest <= 0 || loadingPages.contains(getPage(lowest))) {
+      // nothing to page in, or the last rows are still loading
+      return;
+    }
+    // expose rows down to the start of the next page so pages line up with the rows
+    var page = getPage(lowest - 1);
+    var rows = getRowCount();
+    var count = lowest - page * PAGE_SIZE;
+    historySize += count;
+    fireTableRowsInserted(rows, rows + (int) count - 1);
+
+    loadPage(page);
+    // prefetch one page ahead
+    loadPage(page - 1);
+  }
+
+  /**
+   * Gets the index of the block shown in a row.
+   *
+   * @param row row of the model
+   * @return block index
+   */
+  public long getBlockIndex(int row) {
+    if (blocks.size() == 0) {
+      return -1;
+    }
+    if (row < blocks.size()) {
+      return blocks.get(row).getIndex();
+    }
+    // older rows are consecutive blocks below the oldest latest block
+    return blocks.get(blocks.size() - 1).getIndex() - (row - blocks.size() + 1);
+  }
+
+  /**
+   * Gets the block shown in a row, loading its page if it is not in memory.
+   *
+   * @param row row of the model
+   * @return the block, null if its page is not loaded yet
+   */
+  public BlockSummary getBlock(int row) {
+    var block = peekBlock(row);
+    if (block == null) {
+      // evicted or never loaded, fetch it again
+      loadPage(getPage(getBlockIndex(row)));
+    }
+    return block;
+  }
+
+  /**
+   * Gets the block shown in a row if it is in memory.
+   * Used where every row is visited, such as filtering, so pages are only loaded when shown.
+   *
+   * @param row row of the model
+   * @return the block, null if its page is not loaded
+   */
+  public BlockSummary peekBlock(int row) {
+    if (row < blocks.size()) {
+      return blocks.get(row);
+    }
+    var index = getBlockIndex(row);
+    var page = pages.get(getPage(index));
+    return page == null ? null : page[getSlot(index)];
   }
 
   /**
@@ -106,7 +286,91 @@ public class BlockInfoTableModel extends AbstractTableModel implements Disposabl
     disposeObservable();
   }
 
-  public NeoBlock getBlock(int index) {
-    return blocks.get(index);
+  /**
+   * Replaces the summary of a block that is in the table, used once the full block is known.
+   *
+   * @param block summary of the block
+   */
+  public void updateBlock(BlockSummary block) {
+    var row = getRow(block.getIndex());
+    if (row < 0) {
+      return;
+    }
+    if (row < blocks.size()) {
+      blocks.set(row, block);
+    } else {
+      cache(block);
+    }
+    fireTableRowsUpdated(row, row);
+  }
+
+  private int getRow(long index) {
+    for (int row = 0; row < blocks.size(); row++) {
+      if (blocks.get(row).getIndex() == index) {
+        return row;
+      }
+    }
+    if (blocks.size() == 0 || index < getLowestIndex()) {
+      return -1;
+    }
+    var below = blocks.get(blocks.size() - 1).getIndex() - index;
+    // not a latest block, or in a gap between latest blocks
+    return below <= 0 ? -1 : (int) (blocks.size() - 1 + below);
+  }
+
+  private void loadPage(long page) {
+    if (chain == null || page < 0 || blocks.size() == 0 || !loadingPages.add(page)) {
+      return;
+    }
+    var selectedChain = chain;
+    var from = page * PAGE_SIZE;
+    // blocks from the oldest latest block on are already in the table
+    var to = Math.min(from + PAGE_SIZE, blocks.get(blocks.size() - 1).getIndex());
+    ApplicationManager.getApplication().executeOnPooledThread(() -> {
+      var summaries = project.getService(BlockchainService.class)
+          .getBlockSummaries(selectedChain, from, to);
+      ApplicationManager.getApplication().invokeLater(() -> {
+        loadingPages.remove(page);
+        if (summaries == null || selectedChain != chain) {
+          // notified, or the table moved on to another chain
+          return;
+        }
+        summaries.stream().filter(s -> s != null).forEach(this::cache);
+        fireRowsOfPageUpdated(page);
+      });
+    });
+  }
+
+  private void fireRowsOfPageUpdated(long page) {
+    if (blocks.size() == 0) {
+      return;
+    }
+    // pages only hold older rows, newest first
+    var highest = Math.min(page * PAGE_SIZE + PAGE_SIZE - 1,
+        blocks.get(blocks.size() - 1).getIndex() - 1);
+    var lowest = Math.max(page * PAGE_SIZE, getLowestIndex());
+    if (lowest <= highest) {
+      fireTableRowsUpdated(getRow(highest), getRow(lowest));
+    }
+  }
+
+  private void cache(BlockSummary block) {
+    var page = pages.computeIfAbsent(getPage(block.getIndex()), p -> new BlockSummary[PAGE_SIZE]);
+    page[getSlot(block.getIndex())] = block;
+  }
+
+  private long getLowestIndex() {
+    if (blocks.size() == 0) {
+      return -1;
+    }
+    return blocks.get(blocks.size() - 1).getIndex() - historySize;
+  }
+
+  private long getPage(long index) {
+    return index / PAGE_SIZE;
+  }
+
+  private int getSlot(long index) {
+    return (int) (index % PAGE_SIZE);
   }
-}
\ No newline at end of file
+}
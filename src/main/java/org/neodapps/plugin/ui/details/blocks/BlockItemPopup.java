@@ -5,6 +5,7 @@
 
 package org.neodapps.plugin.ui.details.blocks;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.popup.ComponentPopupBuilder;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.ui.JBColor;
@@ -26,6 +27,7 @@ import javax.swing.JComponent;
 import javax.swing.JPanel;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.services.chain.AddressBookService;
 import org.neodapps.plugin.ui.details.blocks.transactions.TransactionsTable;
 
 /**
@@ -34,10 +36,19 @@ import org.neodapps.plugin.ui.details.blocks.transactions.TransactionsTable;
 public class BlockItemPopup {
 
   final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd h:mm a");
+  private final Project project;
   private final NeoBlock block;
   private final ChainLike chain;
 
-  public BlockItemPopup(NeoBlock block, ChainLike chain) {
+  /**
+   * Creates the popup of a block.
+   *
+   * @param project intellij project
+   * @param block   block to show
+   * @param chain   chain of the block
+   */
+  public BlockItemPopup(Project project, NeoBlock block, ChainLike chain) {
+    this.project = project;
     this.block = block;
     this.chain = chain;
   }
@@ -99,7 +110,8 @@ public class BlockItemPopup {
     // add next consensus root
     builder.addLabeledComponent(
         new JBLabel(NeoMessageBundle.message("block.info.next.consensus.label")),
-        getTextField(block.getNextConsensus()));
+        getTextField(project.getService(AddressBookService.class)
+            .getDisplayName(chain, block.getNextConsensus())));
 
     // add witness data
     var witnesses = block.getWitnesses();
@@ -124,7 +136,7 @@ public class BlockItemPopup {
   }
 
   private JBScrollPane getTransactionsTable() {
-    return new JBScrollPane(new TransactionsTable(block.getTransactions(), chain));
+    return new JBScrollPane(new TransactionsTable(project, block.getTransactions(), chain));
   }
 
   private JComponent getWitnessData(List<NeoWitness> witnesses) {
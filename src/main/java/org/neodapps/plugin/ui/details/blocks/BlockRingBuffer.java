@@ -0,0 +1,107 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.ui.details.blocks;
+
+import java.util.Arrays;
+
+/**
+ * A fixed capacity ring buffer indexed newest first.
+ * Adding to a full buffer overwrites the oldest item, so the memory used never grows.
+ *
+ * @param <T> type of the items kept in the buffer
+ */
+public class BlockRingBuffer<T> {
+  private final Object[] items;
+
+  // slot the next item is written to
+  private int head;
+  private int size;
+
+  /**
+   * Creates the ring buffer.
+   *
+   * @param capacity maximum number of items kept
+   */
+  public BlockRingBuffer(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.items = new Object[capacity];
+  }
+
+  /**
+   * Adds an item as the newest entry.
+   *
+   * @param item item to add
+   * @return the oldest item if it had to be evicted, null otherwise
+   */
+  @SuppressWarnings("unchecked")
+  public T add(T item) {
+    T evicted = null;
+    if (size == items.length) {
+      evicted = (T) items[head];
+    } else {
+      size++;
+    }
+    items[head] = item;
+    head = (head + 1) % items.length;
+    return evicted;
+  }
+
+  /**
+   * Gets an item by its position.
+   *
+   * @param index position of the item, 0 being the newest
+   * @return the item at the position
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index: %d, Size: %d", index, size));
+    }
+    var slot = head - 1 - index;
+    if (slot < 0) {
+      slot += items.length;
+    }
+    return (T) items[slot];
+  }
+
+  /**
+   * Replaces an item.
+   *
+   * @param index position of the item, 0 being the newest
+   * @param item  new item
+   */
+  public void set(int index, T item) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index: %d, Size: %d", index, size));
+    }
+    var slot = head - 1 - index;
+    if (slot < 0) {
+      slot += items.length;
+    }
+    items[slot] = item;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return items.length;
+  }
+
+  /**
+   * Removes all the items.
+   */
+  public void clear() {
+    Arrays.fill(items, null);
+    head = 0;
+    size = 0;
+  }
+}
@@ -5,6 +5,7 @@
 
 package org.neodapps.plugin.ui.details.blocks.transactions;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.popup.ComponentPopupBuilder;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.ui.components.JBLabel;
@@ -16,20 +17,30 @@ import com.intellij.util.ui.JBUI;
 import io.neow3j.crypto.Base64;
 import io.neow3j.protocol.core.response.Transaction;
 import io.neow3j.script.ScriptReader;
-import java.util.Map;
 import javax.swing.JPanel;
 import org.neodapps.plugin.NeoMessageBundle;
+import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.services.chain.AddressBookService;
 
 /**
  * Represents transaction info popup.
  */
 public class TransactionInfoPopup {
   private final Transaction transaction;
-  private final Map<String, String> knownAddresses;
+  private final ChainLike chain;
+  private final AddressBookService addressBook;
 
-  public TransactionInfoPopup(Map<String, String> knownAddresses, Transaction transaction) {
+  /**
+   * Creates the popup of a transaction.
+   *
+   * @param project     intellij project
+   * @param chain       chain of the transaction
+   * @param transaction transaction to show
+   */
+  public TransactionInfoPopup(Project project, ChainLike chain, Transaction transaction) {
     this.transaction = transaction;
-    this.knownAddresses = knownAddresses;
+    this.chain = chain;
+    this.addressBook = project.getService(AddressBookService.class);
   }
 
   /**
@@ -62,8 +73,7 @@ public class TransactionInfoPopup {
     // add sender
     builder.addLabeledComponent(
         new JBLabel(NeoMessageBundle.message("transaction.info.sender")),
-        getTextField(
-            knownAddresses.getOrDefault(transaction.getSender(), transaction.getSender())));
+        getTextField(addressBook.getDisplayName(chain, transaction.getSender())));
 
     // add size
     builder.addLabeledComponent(
@@ -5,6 +5,7 @@
 
 package org.neodapps.plugin.ui.details.blocks.transactions;
 
+import com.intellij.openapi.project.Project;
 import io.neow3j.protocol.core.response.Transaction;
 import java.awt.Cursor;
 import java.util.List;
@@ -23,12 +24,14 @@ public class TransactionsTable extends JTable {
   /**
    * Creates transactions table.
    *
+   * @param project      intellij project
    * @param transactions transactions list
+   * @param chain        chain of the transactions
    */
-  public TransactionsTable(List<Transaction> transactions, ChainLike chain) {
+  public TransactionsTable(Project project, List<Transaction> transactions, ChainLike chain) {
     this.transactions = transactions;
     setRowHeight(40);
-    setModel(new TransactionsTableModel(transactions, chain));
+    setModel(new TransactionsTableModel(project, transactions, chain));
     // set cursor
     setCursor(new Cursor(Cursor.HAND_CURSOR));
 
@@ -36,7 +39,6 @@ public class TransactionsTable extends JTable {
     setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
     ListSelectionModel selectionModel = getSelectionModel();
-    var knownAddresses = ((TransactionsTableModel) getModel()).getKnownAddress();
     // show a popup with more details when a row is selected
     selectionModel.addListSelectionListener(e -> {
       int selectedRow = getSelectedRow();
@@ -47,7 +49,7 @@ public class TransactionsTable extends JTable {
         return;
       }
       var popup =
-          new TransactionInfoPopup(knownAddresses, transactions.get(selectedRow));
+          new TransactionInfoPopup(project, chain, transactions.get(selectedRow));
       popup.showPopup();
       // clear selection
       selectionModel.clearSelection();
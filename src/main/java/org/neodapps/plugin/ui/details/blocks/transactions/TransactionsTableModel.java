@@ -5,24 +5,20 @@
 
 package org.neodapps.plugin.ui.details.blocks.transactions;
 
+import com.intellij.openapi.project.Project;
 import io.neow3j.protocol.core.response.Transaction;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import javax.swing.table.AbstractTableModel;
-import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.ChainLike;
-import org.neodapps.plugin.blockchain.PrivateChain;
-import org.neodapps.plugin.blockchain.express.ExpressConsensusNode;
-import org.neodapps.plugin.blockchain.express.ExpressWallet;
-import org.neodapps.plugin.blockchain.express.ExpressWalletAccount;
+import org.neodapps.plugin.services.chain.AddressBookService;
 
 /**
  * Represents the model of transactions table.
  */
 public class TransactionsTableModel extends AbstractTableModel {
   final List<Transaction> transactions;
-  final Map<String, String> knownAddress;
+  private final ChainLike chain;
+  private final AddressBookService addressBook;
   private final String[] columnNames = {
       TransactionsTableColumn.HASH.getName(), TransactionsTableColumn.SENDER.getName(),
       TransactionsTableColumn.SIZE.getName()
@@ -31,29 +27,16 @@ public class TransactionsTableModel extends AbstractTableModel {
   /**
    * Create the model of transactions table.
    *
+   * @param project      intellij project
    * @param transactions list of transactions.
+   * @param chain        chain of the transactions
    */
-  public TransactionsTableModel(List<Transaction> transactions, ChainLike chain) {
+  public TransactionsTableModel(Project project, List<Transaction> transactions,
+                                ChainLike chain) {
     this.transactions = transactions;
-
-    // set known addresses
-    knownAddress = new HashMap<>();
-    if (chain.getType().equals(BlockChainType.PRIVATE)) {
-      var privateChain = (PrivateChain) chain;
-      var genesis =
-          ((ExpressConsensusNode) privateChain.getSelectedItem()).getWallet().getAccounts().stream()
-              .filter(
-                  a -> a.getLabel() != null && a.getLabel().equals("Consensus MultiSigContract"))
-              .findFirst();
-      genesis.ifPresent(expressWalletAccount -> knownAddress
-          .put(expressWalletAccount.getScriptHash(), "genesis"));
-
-      for (ExpressWallet wallet : privateChain.getConfig().getWallets()) {
-        for (ExpressWalletAccount account : wallet.getAccounts()) {
-          knownAddress.put(account.getScriptHash(), wallet.getName());
-        }
-      }
-    }
+    this.chain = chain;
+    // known addresses are shared by all the views of the project
+    this.addressBook = project.getService(AddressBookService.class);
   }
 
   @Override
@@ -85,11 +68,7 @@ public class TransactionsTableModel extends AbstractTableModel {
     }
   }
 
-  public Map<String, String> getKnownAddress() {
-    return knownAddress;
-  }
-
   public String getOptionalName(String walletHash) {
-    return knownAddress.getOrDefault(walletHash, walletHash);
+    return addressBook.getDisplayName(chain, walletHash);
   }
 }
\ No newline at end of file
@@ -30,6 +30,7 @@ import javax.swing.SwingWorker;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.ChainLike;
+import org.neodapps.plugin.services.chain.AddressBookService;
 import org.neodapps.plugin.services.chain.ContractServices;
 import org.neodapps.plugin.services.chain.InvokeFile;
 import org.neodapps.plugin.services.chain.WalletService;
@@ -87,6 +88,7 @@ public class ContractsComponent extends Wrapper implements Disposable {
               var pair = get();
               var wallets = pair.getFirst();
               var contracts = pair.getSecond();
+              project.getService(AddressBookService.class).addContracts(chain, contracts);
 
               toolbarWrapper.setContent(getToolBar(wallets, contracts));
               mainPanel.setContent(new DeployedContractListComponent(contracts));
@@ -3,6 +3,8 @@ package org.neodapps.plugin.ui.details.contracts;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.TextBrowseFolderListener;
 import com.intellij.openapi.ui.TextFieldWithBrowseButton;
@@ -19,7 +21,7 @@ import java.util.List;
 import java.util.Objects;
 import javax.swing.JPanel;
 import javax.swing.ListSelectionModel;
-import javax.swing.SwingWorker;
+import org.jetbrains.annotations.NotNull;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.services.chain.BlockchainService;
@@ -149,15 +151,14 @@ public class DeployContractPopup implements Disposable {
   }
 
   private void deployContract(String nepPath, String manifestPath, NEP6Wallet wallet) {
-    var worker = new SwingWorker<Void, Void>() {
+    // decrypting the keys of an imported wallet shows its progress and can be cancelled
+    new Task.Backgroundable(project, NeoMessageBundle.message("contracts.deploy.progress"), true) {
       @Override
-      protected Void doInBackground() {
+      public void run(@NotNull ProgressIndicator indicator) {
         project.getService(BlockchainService.class)
             .deployContract(nepPath, manifestPath, wallet, chain);
-        return null;
       }
-    };
-    worker.execute();
+    }.queue();
   }
 
   /**
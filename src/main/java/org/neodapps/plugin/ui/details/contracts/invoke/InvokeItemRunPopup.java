@@ -2,6 +2,8 @@ package org.neodapps.plugin.ui.details.contracts.invoke;
 
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.popup.JBPopup;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
@@ -20,9 +22,8 @@ import java.util.Objects;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
 import javax.swing.ListSelectionModel;
-import javax.swing.SwingWorker;
+import org.jetbrains.annotations.NotNull;
 import org.neodapps.plugin.NeoMessageBundle;
-import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.services.chain.BlockchainService;
 import org.neodapps.plugin.ui.ToolWindowButton;
@@ -115,33 +116,28 @@ public class InvokeItemRunPopup implements Disposable {
 
 
   private void runSteps(NEP6Wallet wallet) {
-    var worker = new SwingWorker<InvocationResult, Void>() {
+    // decrypting the keys of an imported wallet shows its progress and can be cancelled
+    new Task.Backgroundable(project,
+        NeoMessageBundle.message("contracts.invoke.test.progress", method.getName()), true) {
+      private InvocationResult result;
 
       @Override
-      protected InvocationResult doInBackground() {
-        return project.getService(BlockchainService.class)
+      public void run(@NotNull ProgressIndicator indicator) {
+        result = project.getService(BlockchainService.class)
             .testInvokeContractMethod(chain, contractState, method, parameters, wallet);
       }
 
       @Override
-      protected void done() {
-        InvocationResult result;
-        try {
-          result = get();
-          if (result != null) {
-            var popup =
-                new TestInvokeComponentPopup(project, chain, result, contractState, method,
-                    parameters,
-                    wallet);
-            popup.showPopup();
-          }
-        } catch (Exception e) {
-          NeoNotifier.notifyError(project, e.getMessage());
+      public void onSuccess() {
+        if (result != null) {
+          var popup =
+              new TestInvokeComponentPopup(project, chain, result, contractState, method,
+                  parameters,
+                  wallet);
+          popup.showPopup();
         }
       }
-    };
-
-    worker.execute();
+    }.queue();
   }
 
   /**
@@ -2,6 +2,8 @@ package org.neodapps.plugin.ui.details.contracts.invoke;
 
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.popup.JBPopup;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
@@ -25,7 +27,7 @@ import java.util.Objects;
 import javax.swing.BoxLayout;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
-import javax.swing.SwingWorker;
+import org.jetbrains.annotations.NotNull;
 import org.neodapps.plugin.NeoMessageBundle;
 import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.ChainLike;
@@ -68,30 +70,25 @@ public class TestInvokeComponentPopup implements Disposable {
   }
 
   private void invokeStep() {
-    var worker = new SwingWorker<NeoSendRawTransaction.RawTransaction, Void>() {
+    // decrypting the keys of an imported wallet shows its progress and can be cancelled
+    new Task.Backgroundable(project,
+        NeoMessageBundle.message("contracts.invoke.progress", method.getName()), true) {
+      private NeoSendRawTransaction.RawTransaction transaction;
 
       @Override
-      protected NeoSendRawTransaction.RawTransaction doInBackground() {
-        return project.getService(BlockchainService.class)
+      public void run(@NotNull ProgressIndicator indicator) {
+        transaction = project.getService(BlockchainService.class)
             .invokeContractMethod(chain, contractState, method, parameters, wallet);
       }
 
       @Override
-      protected void done() {
-        NeoSendRawTransaction.RawTransaction transaction;
-        try {
-          transaction = get();
-          if (transaction != null) {
-            NeoNotifier.notifySuccess(project, NeoMessageBundle
-                .message("contracts.invoke.submitted", transaction.getHash().toString()));
-          }
-        } catch (Exception e) {
-          NeoNotifier.notifyError(project, e.getMessage());
+      public void onSuccess() {
+        if (transaction != null) {
+          NeoNotifier.notifySuccess(project, NeoMessageBundle
+              .message("contracts.invoke.submitted", transaction.getHash().toString()));
         }
       }
-    };
-
-    worker.execute();
+    }.queue();
   }
 
   private JComponent getComponent() {
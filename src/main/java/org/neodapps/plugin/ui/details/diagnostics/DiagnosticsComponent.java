@@ -0,0 +1,85 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.ui.details.diagnostics;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.panels.Wrapper;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.FormBuilder;
+import java.awt.FlowLayout;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+import org.neodapps.plugin.NeoMessageBundle;
+import org.neodapps.plugin.services.rpc.RpcMetricsService;
+import org.neodapps.plugin.ui.ToolWindowButton;
+
+/**
+ * Represents the component that shows the latency and errors of rpc calls, per method and per
+ * node. The stats are refreshed while the component is shown.
+ */
+public class DiagnosticsComponent extends Wrapper {
+  private static final int REFRESH_MILLIS = 2000;
+
+  private final Project project;
+  private final RpcStatsTableModel methodsModel;
+  private final RpcStatsTableModel nodesModel;
+  private final Timer refreshTimer;
+
+  /**
+   * Creates the diagnostics component.
+   *
+   * @param project intellij project
+   */
+  public DiagnosticsComponent(Project project) {
+    this.project = project;
+    this.methodsModel = new RpcStatsTableModel();
+    this.nodesModel = new RpcStatsTableModel();
+    this.refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+
+    var toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    toolbar.add(new ToolWindowButton(NeoMessageBundle.message("diagnostics.refresh"),
+        AllIcons.Actions.Refresh, e -> refresh()));
+    toolbar.add(new ToolWindowButton(NeoMessageBundle.message("diagnostics.reset"),
+        AllIcons.Actions.GC, e -> {
+          project.getService(RpcMetricsService.class).reset();
+          refresh();
+        }));
+
+    var methodsTable = new JBTable(methodsModel);
+    var nodesTable = new JBTable(nodesModel);
+    setContent(FormBuilder.createFormBuilder()
+        .addComponent(toolbar)
+        .addComponent(new JBLabel(NeoMessageBundle.message("diagnostics.methods")))
+        .addComponent(methodsTable.getTableHeader())
+        .addComponent(methodsTable)
+        .addComponent(new JBLabel(NeoMessageBundle.message("diagnostics.nodes")))
+        .addComponent(nodesTable.getTableHeader())
+        .addComponent(nodesTable)
+        .getPanel());
+    refresh();
+  }
+
+  @Override
+  public void addNotify() {
+    super.addNotify();
+    refreshTimer.start();
+  }
+
+  @Override
+  public void removeNotify() {
+    // only refreshed while shown
+    refreshTimer.stop();
+    super.removeNotify();
+  }
+
+  private void refresh() {
+    var metrics = project.getService(RpcMetricsService.class);
+    methodsModel.setStats(metrics.getMethodStats());
+    nodesModel.setStats(metrics.getNodeStats());
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.ui.details.diagnostics;
+
+/**
+ * Rpc stats table columns.
+ */
+enum RpcStatsTableColumn {
+  NAME(1, "Name"),
+  CALLS(2, "Calls"),
+  ERRORS(3, "Errors"),
+  P50(4, "p50 (ms)"),
+  P95(5, "p95 (ms)"),
+  P99(6, "p99 (ms)"),
+  SIZE(7, "Size");
+
+  private final int index;
+  private final String name;
+
+  RpcStatsTableColumn(int index, String name) {
+    this.index = index;
+    this.name = name;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public String getName() {
+    return name;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.ui.details.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+import org.neodapps.plugin.services.rpc.RpcStats;
+
+/**
+ * Represents the model of a table of rpc stats.
+ */
+public class RpcStatsTableModel extends AbstractTableModel {
+  private final String[] columnNames = Arrays.stream(RpcStatsTableColumn.values())
+      .map(RpcStatsTableColumn::getName)
+      .toArray(String[]::new);
+
+  private List<RpcStats> stats = new ArrayList<>();
+
+  /**
+   * Replaces the rows.
+   *
+   * @param stats stats to show
+   */
+  public void setStats(List<RpcStats> stats) {
+    this.stats = stats;
+    fireTableDataChanged();
+  }
+
+  @Override
+  public int getRowCount() {
+    return stats.size();
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnNames.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columnNames[column];
+  }
+
+  @Override
+  public Object getValueAt(int rowIndex, int columnIndex) {
+    var row = stats.get(rowIndex);
+    switch (RpcStatsTableColumn.values()[columnIndex]) {
+      case NAME:
+        return row.getName();
+      case CALLS:
+        return row.getCalls();
+      case ERRORS:
+        return String.format("%d (%.1f%%)", row.getErrors(), row.getErrorRate() * 100);
+      case P50:
+        return toMillis(row.getP50());
+      case P95:
+        return toMillis(row.getP95());
+      case P99:
+        return toMillis(row.getP99());
+      case SIZE:
+        return String.format("%d Bytes", row.getBytes());
+      default:
+        return null;
+    }
+  }
+
+  private String toMillis(long micros) {
+    return String.format("%.1f", micros / 1000.0);
+  }
+}
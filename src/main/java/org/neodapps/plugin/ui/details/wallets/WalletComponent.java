@@ -13,6 +13,7 @@ import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.components.JBTextField;
 import com.intellij.ui.components.panels.Wrapper;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.ui.FormBuilder;
 import com.intellij.util.ui.JBUI;
 import io.neow3j.wallet.nep6.NEP6Account;
@@ -24,10 +25,17 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import javax.swing.BoxLayout;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
@@ -39,22 +47,36 @@ import org.neodapps.plugin.blockchain.BlockChainType;
 import org.neodapps.plugin.blockchain.Chain;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.blockchain.PrivateChain;
+import org.neodapps.plugin.services.chain.BalanceTracker;
 import org.neodapps.plugin.services.chain.BlockchainService;
 import org.neodapps.plugin.services.chain.TokenBalance;
+import org.neodapps.plugin.services.chain.TokenMetadataService;
 import org.neodapps.plugin.services.chain.WalletService;
+import org.neodapps.plugin.topics.NodeChangeNotifier;
 import org.neodapps.plugin.ui.ToolWindowButton;
 
 /**
  * Represents the component that shows wallet details.
+ * The wallets whose tokens are known are read with one query, the others look up their tokens in
+ * parallel and each is shown as soon as its own balances are known. Once loaded, the balances
+ * follow the new blocks of the chain through a {@link BalanceTracker}.
  */
 public class WalletComponent extends Wrapper implements Disposable {
+  // wallets whose balances are read at the same time
+  private static final int MAX_PARALLEL_WALLETS = 4;
+  private static final ExecutorService BALANCE_EXECUTOR =
+      AppExecutorUtil.createBoundedApplicationPoolExecutor("Neo Wallet Balances",
+          MAX_PARALLEL_WALLETS);
 
   private final Project project;
   private final ChainLike chain;
 
   private Wrapper walletWrapper;
   private Wrapper toolBarWrapper;
-
+  // panel of each wallet, replaced when its balances change
+  private final Map<NEP6Wallet, Wrapper> walletPanels;
+  private BalanceTracker balanceTracker;
+  private SwingWorker<Void, ?> balanceWorker;
 
   /**
    * Creates the wallet list component.
@@ -67,6 +89,7 @@ public class WalletComponent extends Wrapper implements Disposable {
     this.chain = chain;
     this.toolBarWrapper = new Wrapper();
     this.walletWrapper = new Wrapper();
+    this.walletPanels = new HashMap<>();
 
     toolBarWrapper.setContent(new JPanel());
     walletWrapper.setContent(new JPanel());
@@ -77,10 +100,23 @@ public class WalletComponent extends Wrapper implements Disposable {
     setWalletLoading();
 
     setContent(panel);
-    loadWalletDetails(chain);
+    loadWalletDetails(chain, false);
+
+    project.getMessageBus().connect(this).subscribe(NodeChangeNotifier.NODE_CHANGE,
+        new NodeChangeNotifier() {
+          @Override
+          public void nodeSelected(ChainLike selectedChain) {
+            stopTracking();
+          }
+
+          @Override
+          public void nodeDeselected() {
+            stopTracking();
+          }
+        });
   }
 
-  private void loadWalletDetails(ChainLike selected) {
+  private void loadWalletDetails(ChainLike selected, boolean refreshTokens) {
     var worker = new SwingWorker<List<NEP6Wallet>, Void>() {
       @Override
       protected List<NEP6Wallet> doInBackground() {
@@ -89,11 +125,15 @@ public class WalletComponent extends Wrapper implements Disposable {
 
       @Override
       protected void done() {
+        if (toolBarWrapper == null) {
+          // disposed
+          return;
+        }
         List<NEP6Wallet> list;
         try {
           list = get();
           toolBarWrapper.setContent(getToolBar(list));
-          loadBalances(list);
+          loadBalances(list, refreshTokens);
 
         } catch (InterruptedException | ExecutionException e) {
           NeoNotifier.notifyError(project, e.getMessage());
@@ -103,28 +143,124 @@ public class WalletComponent extends Wrapper implements Disposable {
     worker.execute();
   }
 
-  private void loadBalances(List<NEP6Wallet> wallets) {
-    var worker = new SwingWorker<Map<NEP6Wallet, List<TokenBalance>>, Void>() {
+  private void loadBalances(List<NEP6Wallet> wallets, boolean refreshTokens) {
+    stopTracking();
+    if (balanceWorker != null) {
+      balanceWorker.cancel(true);
+    }
+    // every wallet is shown loading, its balances replace it as soon as they are read
+    walletWrapper.setContent(getWalletListComponent(wallets));
+    var loaded = new LinkedHashMap<NEP6Wallet, List<TokenBalance>>();
+
+    var worker = new SwingWorker<Void, Map.Entry<NEP6Wallet, List<TokenBalance>>>() {
+      @Override
+      protected Void doInBackground() throws InterruptedException, ExecutionException {
+        var results = new ExecutorCompletionService<Map<NEP6Wallet, List<TokenBalance>>>(
+            BALANCE_EXECUTOR);
+        var futures = new ArrayList<Future<Map<NEP6Wallet, List<TokenBalance>>>>();
+        var tokens = project.getService(TokenMetadataService.class);
+        var discovered = new ArrayList<NEP6Wallet>();
+        var undiscovered = new ArrayList<NEP6Wallet>();
+        for (NEP6Wallet wallet : wallets) {
+          (tokens.isDiscovered(chain, wallet) ? discovered : undiscovered).add(wallet);
+        }
+        // the tokens are checked once, by the first query
+        var refresh = refreshTokens;
+        try {
+          // wallets with known tokens are read with one query
+          if (!discovered.isEmpty()) {
+            futures.add(results.submit(readBalances(discovered, refresh)));
+            refresh = false;
+          }
+          // the others look up their tokens first, each is shown as soon as it is read
+          for (NEP6Wallet wallet : undiscovered) {
+            futures.add(results.submit(readBalances(List.of(wallet), refresh)));
+            refresh = false;
+          }
+          // in the order the queries finish, a slow wallet does not hold back the others
+          for (int i = 0; i < futures.size(); i++) {
+            for (Map.Entry<NEP6Wallet, List<TokenBalance>> entry
+                : results.take().get().entrySet()) {
+              publish(entry);
+            }
+          }
+        } finally {
+          futures.forEach(future -> future.cancel(true));
+        }
+        return null;
+      }
+
       @Override
-      protected Map<NEP6Wallet, List<TokenBalance>> doInBackground() {
-        return project.getService(BlockchainService.class).getTokenBalances(wallets, chain);
+      protected void process(List<Map.Entry<NEP6Wallet, List<TokenBalance>>> chunks) {
+        if (balanceWorker != this) {
+          // replaced by a refresh
+          return;
+        }
+        for (Map.Entry<NEP6Wallet, List<TokenBalance>> entry : chunks) {
+          loaded.put(entry.getKey(), entry.getValue());
+          var walletPanel = walletPanels.get(entry.getKey());
+          if (walletPanel != null) {
+            walletPanel.setContent(getWalletComponent(entry.getKey(), entry.getValue()));
+          }
+        }
       }
 
       @Override
       protected void done() {
-        Map<NEP6Wallet, List<TokenBalance>> balances;
+        if (isCancelled() || balanceWorker != this) {
+          return;
+        }
         try {
-          balances = get();
-          walletWrapper.setContent(getWalletListComponent(balances));
+          get();
+          // follow the blocks once every wallet is known
+          startTracking(loaded);
         } catch (InterruptedException | ExecutionException e) {
           NeoNotifier.notifyError(project, e.getMessage());
         }
       }
     };
+    balanceWorker = worker;
     worker.execute();
   }
 
 
+  private Callable<Map<NEP6Wallet, List<TokenBalance>>> readBalances(
+      List<NEP6Wallet> wallets, boolean refreshTokens) {
+    return () -> {
+      Map<NEP6Wallet, List<TokenBalance>> balances = new HashMap<>();
+      try {
+        balances.putAll(project.getService(BlockchainService.class)
+            .getTokenBalances(wallets, chain, refreshTokens));
+      } catch (RuntimeException e) {
+        // one failed query does not stop the others, the wallets are still tracked
+        NeoNotifier.notifyError(project, e.getMessage());
+      }
+      // wallets not read are shown without assets
+      wallets.forEach(wallet -> balances.putIfAbsent(wallet, List.of()));
+      return balances;
+    };
+  }
+
+  private void startTracking(Map<NEP6Wallet, List<TokenBalance>> balances) {
+    stopTracking();
+    var tracker = new BalanceTracker(project, chain, balances);
+    balanceTracker = tracker;
+    tracker.start((wallet, tokenBalances) -> {
+      // updates can still be queued after the tracker was replaced
+      var walletPanel = walletPanels.get(wallet);
+      if (balanceTracker == tracker && walletPanel != null) {
+        walletPanel.setContent(getWalletComponent(wallet, tokenBalances));
+      }
+    });
+  }
+
+  private void stopTracking() {
+    if (balanceTracker != null) {
+      balanceTracker.stop();
+      balanceTracker = null;
+    }
+  }
+
   private void setWalletLoading() {
     var panel = new JPanel();
     panel.setBorder(JBUI.Borders.empty(5));
@@ -182,18 +318,23 @@ public class WalletComponent extends Wrapper implements Disposable {
             AllIcons.Javaee.UpdateRunningApplication,
             actionEvent -> {
               setWalletLoading();
-              loadWalletDetails(chain);
+              // token metadata is read again only on refresh
+              loadWalletDetails(chain, true);
             });
     buttonPanel.add(refreshButton);
     return buttonPanel;
   }
 
-  private JComponent getWalletListComponent(Map<NEP6Wallet, List<TokenBalance>> balances) {
+  private JComponent getWalletListComponent(List<NEP6Wallet> wallets) {
     final var panel = new JPanel();
     panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
 
-    balances.forEach(
-        (wallet, tokenBalances) -> panel.add(getWalletComponent(wallet, balances.get(wallet))));
+    walletPanels.clear();
+    for (NEP6Wallet wallet : wallets) {
+      var walletPanel = new Wrapper(getWalletComponent(wallet, null));
+      walletPanels.put(wallet, walletPanel);
+      panel.add(walletPanel);
+    }
 
     return new JBScrollPane(panel);
   }
@@ -217,7 +358,10 @@ public class WalletComponent extends Wrapper implements Disposable {
     panel.add(namePanel, gbc);
 
     gbc.gridy = 1;
-    if (balances.size() > 0) {
+    if (balances == null) {
+      // balances not read yet
+      panel.add(new JBLabel(NeoMessageBundle.message("toolwindow.loading")), gbc);
+    } else if (balances.size() > 0) {
       final var builder = new FormBuilder();
       // asset balances
       for (var balance : balances) {
@@ -256,6 +400,10 @@ public class WalletComponent extends Wrapper implements Disposable {
 
   @Override
   public void dispose() {
+    stopTracking();
+    if (balanceWorker != null) {
+      balanceWorker.cancel(true);
+    }
     this.walletWrapper = null;
     this.toolBarWrapper = null;
   }
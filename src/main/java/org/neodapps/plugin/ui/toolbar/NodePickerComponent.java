@@ -24,6 +24,7 @@ import org.neodapps.plugin.NeoNotifier;
 import org.neodapps.plugin.blockchain.ChainLike;
 import org.neodapps.plugin.blockchain.ConsensusNodeLike;
 import org.neodapps.plugin.services.chain.ChainListService;
+import org.neodapps.plugin.services.rpc.EndpointSelector;
 import org.neodapps.plugin.topics.NodeChangeNotifier;
 import org.neodapps.plugin.topics.PrivateChainCreatorNotifier;
 import org.neodapps.plugin.ui.ToolWindowButton;
@@ -89,6 +90,10 @@ public class NodePickerComponent extends Wrapper implements Disposable {
         e -> {
           final var selected = (ChainLike) chainComboBox.getSelectedItem();
           assert selected != null;
+          // a seed changed by hand is kept by the endpoint selector
+          if (nodeComboBox.getSelectedIndex() != selected.getSelectedIndex()) {
+            project.getService(EndpointSelector.class).setPinned(selected, true);
+          }
           selected.setSelectedIndex(nodeComboBox.getSelectedIndex());
           applyChanges(selected);
         }
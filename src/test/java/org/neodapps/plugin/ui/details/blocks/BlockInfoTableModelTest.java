@@ -0,0 +1,72 @@
+/*
+ *  Use of this source code is governed by the Apache 2.0 license that can be
+ *  found in the LICENSE file.
+ */
+
+package org.neodapps.plugin.ui.details.blocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.neodapps.plugin.services.chain.BlockSummary;
+
+/**
+ * Tests the rows of the block table model when the feed repeats or skips blocks.
+ */
+public class BlockInfoTableModelTest {
+  private static final int RETENTION = 10;
+
+  @Test
+  public void repeatedBlocksAreDropped() {
+    var model = new BlockInfoTableModel(null, RETENTION);
+    model.addBlocks(blocks(0, 1, 2, 3, 4));
+    // a feed that started again replays blocks it already delivered
+    model.addBlocks(blocks(3, 4, 5, 6));
+
+    assertEquals(7, model.getRowCount());
+    for (int row = 0; row < model.getRowCount(); row++) {
+      assertEquals(6 - row, model.getBlockIndex(row));
+      assertEquals(6 - row, model.peekBlock(row).getIndex());
+    }
+  }
+
+  @Test
+  public void rowsOfGappedBlocksKeepTheirIndex() {
+    var model = new BlockInfoTableModel(null, RETENTION);
+    model.addBlocks(blocks(0, 1, 2));
+    model.addBlocks(blocks(5, 6));
+
+    assertEquals(5, model.getRowCount());
+    assertEquals(6, model.getBlockIndex(0));
+    assertEquals(5, model.getBlockIndex(1));
+    assertEquals(2, model.getBlockIndex(2));
+    assertEquals(0, model.getBlockIndex(4));
+  }
+
+  @Test
+  public void updateBlockReplacesTheRowOfItsIndex() {
+    var model = new BlockInfoTableModel(null, RETENTION);
+    model.addBlocks(blocks(0, 1, 2, 5, 6));
+
+    var full = new BlockSummary(2, 0, 3, 100, new byte[32]);
+    model.updateBlock(full);
+    assertSame(full, model.peekBlock(2));
+
+    // a block in the gap has no row
+    model.updateBlock(new BlockSummary(4, 0, 3, 100, new byte[32]));
+    assertEquals(5, model.getRowCount());
+    assertEquals(5, model.peekBlock(1).getIndex());
+  }
+
+  private List<BlockSummary> blocks(long... indexes) {
+    var blocks = new ArrayList<BlockSummary>();
+    for (long index : indexes) {
+      blocks.add(new BlockSummary(index, 0, BlockSummary.UNKNOWN, BlockSummary.UNKNOWN,
+          new byte[32]));
+    }
+    return blocks;
+  }
+}